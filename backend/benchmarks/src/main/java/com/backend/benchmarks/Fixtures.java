@@ -0,0 +1,177 @@
+package com.backend.benchmarks;
+
+import com.backend.project.model.Booking;
+import com.backend.project.model.Facility;
+import com.backend.project.model.User;
+import com.backend.project.repository.BookingRepository;
+import com.backend.project.repository.UserRepository;
+import com.backend.project.service.JwtService;
+import com.backend.project.service.TokenRevocationStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Realistic data and wiring for the benchmarks, without a Spring context or a database.
+ * Repositories are dynamic proxies answering only the finder a benchmark needs.
+ */
+final class Fixtures {
+
+    // 256-bit HMAC key, Base64 encoded like the secret.key property
+    static final String SECRET_KEY = Base64.getEncoder().encodeToString(
+            "benchmark-secret-key-of-32-bytes".getBytes());
+
+    private static final String[] TYPES = {"Study Room", "Lecture Hall", "Lab", "Auditorium", "Sports Court"};
+
+    private Fixtures() {
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(42);
+        user.setName("Jane Doe");
+        user.setEmail("jane@example.com");
+        user.setUsername("janedoe");
+        user.setPasswordHash("$2a$10$7EqJtq98hPqEX7fNZaFWoOa8B6oBX6f5qZ6sYJ9l7eXzWqG3oQK6e");
+        user.setRole(User.Role.STUDENT);
+        user.setIsActive(true);
+        return user;
+    }
+
+    /**
+     * A JwtService wired the way Spring would: secret and cache size injected, then init().
+     */
+    static JwtService jwtService(int verifiedCacheSize) {
+        try {
+            JwtService jwtService = new JwtService(new TokenRevocationStore(null), new SimpleMeterRegistry());
+            set(jwtService, "secretKey", SECRET_KEY);
+            set(jwtService, "verifiedCacheSize", verifiedCacheSize);
+            Method init = JwtService.class.getDeclaredMethod("init");
+            init.setAccessible(true);
+            init.invoke(jwtService);
+            return jwtService;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static List<Facility> facilities(int count) {
+        List<Facility> facilities = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            facilities.add(new Facility(i, "Room " + i, "Building " + (char) ('A' + i % 8) + ", Floor " + (i % 5),
+                    10 + (i * 7) % 200, TYPES[i % TYPES.length]));
+        }
+        return facilities;
+    }
+
+    /**
+     * {@code count} bookings spread over the given facilities and a month of days, on the
+     * 30-minute grid between 06:00 and 19:00.
+     */
+    static List<Booking> bookings(List<Facility> facilities, int count, long seed) {
+        Random random = new Random(seed);
+        LocalDate firstDay = LocalDate.of(2025, 9, 1);
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            int startSlot = random.nextInt(24);
+            int slots = 1 + random.nextInt(3);
+            Booking booking = new Booking();
+            booking.setId(i);
+            booking.setFacility(facilities.get(random.nextInt(facilities.size())));
+            booking.setStudentId("S" + (10000 + random.nextInt(5000)));
+            booking.setDate(firstDay.plusDays(random.nextInt(30)));
+            booking.setStartTime(LocalTime.of(6, 0).plusMinutes(30L * startSlot));
+            booking.setEndTime(LocalTime.of(6, 0).plusMinutes(30L * Math.min(26, startSlot + slots)));
+            booking.setStatus(random.nextInt(10) == 0 ? "CANCELLED" : "CONFIRMED");
+            booking.setNotes(random.nextBoolean() ? "Group study session" : null);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    /**
+     * Bookings of one facility-day that do not overlap each other, as the exclusion
+     * constraint guarantees for CONFIRMED rows.
+     */
+    static List<Booking> dayOfBookings(Facility facility, LocalDate date, int count) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count && i < 26; i++) {
+            Booking booking = new Booking();
+            booking.setId(1000 + i);
+            booking.setFacility(facility);
+            booking.setStudentId("S" + (10000 + i));
+            booking.setDate(date);
+            booking.setStartTime(LocalTime.of(6, 0).plusMinutes(30L * i));
+            booking.setEndTime(LocalTime.of(6, 0).plusMinutes(30L * (i + 1)));
+            booking.setStatus("CONFIRMED");
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    static UserRepository userRepository(User user) {
+        return repository(UserRepository.class, (name, args) -> switch (name) {
+            case "findByUsername" -> user.getUsername().equals(args[0]) ? Optional.of(user) : Optional.empty();
+            default -> null;
+        });
+    }
+
+    static BookingRepository bookingRepository(List<Booking> confirmedOfDay) {
+        return repository(BookingRepository.class, (name, args) -> switch (name) {
+            case "findConfirmedByFacilityAndDate" -> confirmedOfDay;
+            default -> null;
+        });
+    }
+
+    static void set(Object target, String field, Object value) {
+        try {
+            Field f = findField(target.getClass(), field);
+            f.setAccessible(true);
+            f.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Field findField(Class<?> type, String name) throws NoSuchFieldException {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            try {
+                return c.getDeclaredField(name);
+            } catch (NoSuchFieldException ignored) {
+                // keep looking in the superclass
+            }
+        }
+        throw new NoSuchFieldException(name);
+    }
+
+    private interface Answer {
+        Object answer(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, Answer answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            Object result = answer.answer(method.getName(), args);
+            if (result == null) {
+                throw new UnsupportedOperationException(method.getName() + " is not stubbed");
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,70 @@
+package com.backend.benchmarks;
+
+import com.backend.project.dto.BookingResponse;
+import com.backend.project.model.Booking;
+import com.backend.project.model.Facility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of list responses at realistic sizes: a campus has tens of facilities,
+ * a student a few dozen bookings, and the admin list thousands.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"50", "500", "5000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Facility> facilities;
+    private List<Booking> bookings;
+    private List<BookingResponse> bookingResponses;
+
+    @Setup
+    public void setUp() {
+        // Jackson 3 handles java.time natively and writes ISO strings, like the application's mapper
+        objectMapper = JsonMapper.builder().build();
+        facilities = Fixtures.facilities(size);
+        bookings = Fixtures.bookings(Fixtures.facilities(50), size, 7L);
+        bookingResponses = new ArrayList<>(size);
+        for (Booking booking : bookings) {
+            bookingResponses.add(BookingResponse.from(booking));
+        }
+    }
+
+    @Benchmark
+    public byte[] facilityList() {
+        return objectMapper.writeValueAsBytes(facilities);
+    }
+
+    @Benchmark
+    public byte[] bookingEntityList() {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] bookingResponseList() {
+        return objectMapper.writeValueAsBytes(bookingResponses);
+    }
+}
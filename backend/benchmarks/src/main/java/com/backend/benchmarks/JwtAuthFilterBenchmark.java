@@ -0,0 +1,83 @@
+package com.backend.benchmarks;
+
+import com.backend.project.model.User;
+import com.backend.project.security.JwtAuthFilter;
+import com.backend.project.security.UserDetailsCache;
+import com.backend.project.security.UserDetailsServiceImpl;
+import com.backend.project.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request path of {@link JwtAuthFilter}: token extraction, verification, revocation
+ * check, UserDetails lookup (cache or signed claims) and building the Authentication.
+ * The user repository is an in-memory stub, so a cache miss costs no database round-trip here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    /**
+     * 0 = look the user up (through the UserDetails cache); > 0 = trust fresh signed claims.
+     */
+    @Param({"0", "300"})
+    public long trustClaimsSeconds;
+
+    private JwtAuthFilter filter;
+    private String token;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        User user = Fixtures.user();
+        JwtService jwtService = Fixtures.jwtService(10_000);
+
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl();
+        Fixtures.set(userDetailsService, "userRepository", Fixtures.userRepository(user));
+        Fixtures.set(userDetailsService, "userDetailsCache", new UserDetailsCache(60, 10_000));
+        Fixtures.set(userDetailsService, "meterRegistry", new SimpleMeterRegistry());
+        Fixtures.set(userDetailsService, "trustClaimsSeconds", trustClaimsSeconds);
+
+        filter = new JwtAuthFilter(jwtService, userDetailsService);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Object bearerRequest() throws Exception {
+        // Spring Security clears the context between requests; the filter only authenticates an empty one
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bookings");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Object anonymousRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/facilities");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
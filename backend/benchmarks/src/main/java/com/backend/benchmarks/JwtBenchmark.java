@@ -0,0 +1,90 @@
+package com.backend.benchmarks;
+
+import com.backend.project.model.User;
+import com.backend.project.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and verification in {@link JwtService}.
+ *
+ * {@code legacy*} reproduce the old per-call behaviour (decode the key and build a parser on
+ * every call, parse the token once per extracted claim) as the baseline for the current
+ * single-verify path with and without the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtService cachedService;
+    private JwtService uncachedService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        user = Fixtures.user();
+        cachedService = Fixtures.jwtService(10_000);
+        // A one-entry cache that every other token evicts is as good as no cache
+        uncachedService = Fixtures.jwtService(0);
+        token = cachedService.generateToken(user);
+        cachedService.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedService.generateToken(user);
+    }
+
+    @Benchmark
+    public Object verifyCached() {
+        return cachedService.verify(token);
+    }
+
+    @Benchmark
+    public Object verifyUncached() {
+        return uncachedService.verify(token);
+    }
+
+    /**
+     * What the filter used to do per request: blacklist check, then username, role and
+     * validity, each parsing the token again with a freshly built key and parser.
+     */
+    @Benchmark
+    public void legacyFilterClaims(Blackhole bh) {
+        bh.consume(legacyParse(token).getSubject());
+        bh.consume(legacyParse(token).get("username", String.class));
+        bh.consume(legacyParse(token).get("role", String.class));
+        bh.consume(legacyParse(token).getExpiration());
+    }
+
+    @Benchmark
+    public Object legacySingleParse() {
+        return legacyParse(token);
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(Fixtures.SECRET_KEY));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+}
@@ -0,0 +1,76 @@
+package com.backend.benchmarks;
+
+import com.backend.project.model.Booking;
+import com.backend.project.model.Facility;
+import com.backend.project.service.BookingCalendarIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interval-overlap checking for one facility-day.
+ *
+ * {@code linearScan} evaluates the predicate of {@code findConflictingBookings}
+ * ({@code status = 'CONFIRMED' AND start < :end AND end > :start}) over the day's rows, as the
+ * database does once it has found them; {@code calendarIndex} is the in-memory index the write
+ * path uses now (day already loaded).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverlapCheckBenchmark {
+
+    @Param({"2", "10", "26"})
+    public int bookingsPerDay;
+
+    private static final LocalDate DATE = LocalDate.of(2025, 9, 15);
+    // Free in the sparse cases, taken in the full day
+    private static final LocalTime START = LocalTime.of(18, 0);
+    private static final LocalTime END = LocalTime.of(19, 0);
+
+    private List<Booking> bookings;
+    private BookingCalendarIndex index;
+    private Integer facilityId;
+
+    @Setup
+    public void setUp() {
+        Facility facility = Fixtures.facilities(1).get(0);
+        facilityId = facility.getId();
+        bookings = Fixtures.dayOfBookings(facility, DATE, bookingsPerDay);
+        index = new BookingCalendarIndex(Fixtures.bookingRepository(bookings), 20_000);
+        index.hasConflict(facilityId, DATE, START, END, null);
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        for (Booking booking : bookings) {
+            if ("CONFIRMED".equals(booking.getStatus())
+                    && booking.getStartTime().isBefore(END)
+                    && booking.getEndTime().isAfter(START)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean calendarIndex() {
+        return index.hasConflict(facilityId, DATE, START, END, null);
+    }
+}
@@ -0,0 +1,91 @@
+package com.backend.benchmarks;
+
+import com.backend.project.model.Booking;
+import com.backend.project.model.Facility;
+import com.backend.project.service.SlotGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the slot list of {@code GET /api/availability/slots} for one facility-day.
+ *
+ * {@code bitmap} is the current controller path (one occupancy mask, one bit test per slot);
+ * {@code perSlotScan} is the previous approach of testing every booking against every slot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlotGridBenchmark {
+
+    @Param({"2", "10", "26"})
+    public int bookingsPerDay;
+
+    private List<Booking> bookings;
+
+    @Setup
+    public void setUp() {
+        Facility facility = Fixtures.facilities(1).get(0);
+        bookings = Fixtures.dayOfBookings(facility, LocalDate.of(2025, 9, 15), bookingsPerDay);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> bitmap() {
+        long occupancy = 0L;
+        for (Booking booking : bookings) {
+            occupancy |= SlotGrid.mask(booking.getStartTime(), booking.getEndTime());
+        }
+
+        List<Map<String, Object>> slots = new ArrayList<>(SlotGrid.SLOT_COUNT);
+        for (int i = 0; i < SlotGrid.SLOT_COUNT; i++) {
+            Map<String, Object> slot = new LinkedHashMap<>();
+            slot.put("start",  SlotGrid.format(SlotGrid.slotStart(i)));
+            slot.put("end",    SlotGrid.format(SlotGrid.slotEnd(i)));
+            slot.put("booked", SlotGrid.isBooked(occupancy, i));
+            slots.add(slot);
+        }
+        return slots;
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> perSlotScan() {
+        List<Map<String, Object>> slots = new ArrayList<>(SlotGrid.SLOT_COUNT);
+        LocalTime current = SlotGrid.OPEN_TIME;
+        while (current.isBefore(SlotGrid.CLOSE_TIME)) {
+            LocalTime slotEnd = current.plusMinutes(SlotGrid.SLOT_MINUTES);
+            boolean booked = false;
+            for (Booking booking : bookings) {
+                if (booking.getStartTime().isBefore(slotEnd) && booking.getEndTime().isAfter(current)) {
+                    booked = true;
+                    break;
+                }
+            }
+            Map<String, Object> slot = new LinkedHashMap<>();
+            slot.put("start",  current.toString());
+            slot.put("end",    slotEnd.toString());
+            slot.put("booked", booked);
+            slots.add(slot);
+            current = slotEnd;
+        }
+        return slots;
+    }
+}
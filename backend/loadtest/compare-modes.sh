@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# Runs the same load against the platform and virtual thread modes and records the machine it
+# ran on, so the two reports can be committed side by side under results/<date>-<host>/.
+# Extra arguments are passed to both runs, e.g. ./compare-modes.sh --duration=120
+set -euo pipefail
+
+cd "$(dirname "$0")"
+JAR=target/loadtest.jar
+CONCURRENCY=${CONCURRENCY:-400}
+OUT=results/$(date +%Y-%m-%d)-$(hostname -s)
+
+if [ ! -f "$JAR" ]; then
+  echo "Build the load test first (see README.md)" >&2
+  exit 1
+fi
+mkdir -p "$OUT"
+
+{
+  echo "date: $(date -u +%Y-%m-%dT%H:%M:%SZ)"
+  echo "host: $(uname -srm)"
+  if [ -r /proc/cpuinfo ]; then
+    echo "cpu: $(grep -m1 'model name' /proc/cpuinfo | cut -d: -f2 | xargs)"
+  else
+    echo "cpu: $(sysctl -n machdep.cpu.brand_string 2>/dev/null || echo unknown)"
+  fi
+  echo "cores: $(getconf _NPROCESSORS_ONLN)"
+  if [ -r /proc/meminfo ]; then
+    echo "memory: $(grep MemTotal /proc/meminfo | awk '{printf "%.1f GiB", $2 / 1048576}')"
+  else
+    echo "memory: $(sysctl -n hw.memsize 2>/dev/null | awk '{printf "%.1f GiB", $1 / 1073741824}')"
+  fi
+  echo "java: $(java -version 2>&1 | head -1)"
+  echo "concurrency: $CONCURRENCY"
+  echo "arguments: $*"
+} > "$OUT/machine.txt"
+
+for mode in platform virtual; do
+  java -jar "$JAR" --mode="$mode" --concurrency="$CONCURRENCY" --report="$OUT/$mode.json" "$@" \
+    | tee "$OUT/$mode.txt"
+done
+
+echo "Results in $OUT"
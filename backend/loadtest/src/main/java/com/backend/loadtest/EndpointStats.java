@@ -0,0 +1,61 @@
+package com.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and status codes of one operation. Each worker owns its own instance (no
+ * synchronization on the hot path); the driver merges them once the run is over.
+ */
+final class EndpointStats {
+
+    /** Status recorded when the request never got a response (timeout, connection reset). */
+    static final int TRANSPORT_ERROR = -1;
+
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+
+    void record(int status, long latencyNanos) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        statuses.merge(status, 1L, Long::sum);
+    }
+
+    void merge(EndpointStats other) {
+        if (count + other.count > latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, Math.max(count + other.count, latenciesNanos.length * 2));
+        }
+        System.arraycopy(other.latenciesNanos, 0, latenciesNanos, count, other.count);
+        count += other.count;
+        other.statuses.forEach((status, n) -> statuses.merge(status, n, Long::sum));
+    }
+
+    int count() {
+        return count;
+    }
+
+    Map<Integer, Long> statuses() {
+        return statuses;
+    }
+
+    /**
+     * Latency percentiles in milliseconds, nearest-rank: p50, p95, p99, max.
+     */
+    double[] percentilesMillis() {
+        if (count == 0) {
+            return new double[4];
+        }
+        long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+        return new double[]{millis(sorted, 0.50), millis(sorted, 0.95), millis(sorted, 0.99), sorted[count - 1] / 1e6};
+    }
+
+    private static double millis(long[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(rank, 0)] / 1e6;
+    }
+}
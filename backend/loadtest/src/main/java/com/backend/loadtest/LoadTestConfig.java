@@ -0,0 +1,109 @@
+package com.backend.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load test settings, from {@code --name=value} arguments.
+ *
+ * @param mode          thread mode of the application under test: {@code platform} or {@code virtual}
+ * @param concurrency   concurrent virtual users
+ * @param duration      measured run time
+ * @param warmup        unmeasured run time before it
+ * @param facilities    facilities to seed (on top of the application's sample ones)
+ * @param users         users to seed; all share {@link #PASSWORD}
+ * @param bookings      historical bookings to seed
+ * @param hotFacilities facilities that receive booking attempts, to create contention
+ * @param mix           relative weight of each operation
+ * @param lockingMode   {@code booking.locking.mode} of the application, or null for its default
+ * @param overlapConstraint whether {@code bookings_no_overlap} is applied; without it only the
+ *                      application's locking keeps bookings apart
+ * @param jdbcUrl       external Postgres to use instead of the embedded one (optional)
+ * @param report        where to write the JSON report
+ */
+record LoadTestConfig(String mode, int concurrency, Duration duration, Duration warmup,
+                      int facilities, int users, int bookings, int hotFacilities,
+                      Map<Operation, Integer> mix, String lockingMode, boolean overlapConstraint,
+                      String jdbcUrl, String dbUser, String dbPassword,
+                      String report) {
+
+    static final String PASSWORD = "loadtest-password";
+
+    // Options given without a value
+    private static final Set<String> FLAGS = Set.of("without-overlap-constraint");
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && FLAGS.contains(arg.substring(2))) {
+                options.put(arg.substring(2), "true");
+                continue;
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        String mode = options.getOrDefault("mode", "platform");
+        if (!mode.equals("platform") && !mode.equals("virtual")) {
+            throw new IllegalArgumentException("--mode must be platform or virtual, got: " + mode);
+        }
+
+        return new LoadTestConfig(
+                mode,
+                Integer.parseInt(options.getOrDefault("concurrency", "64")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+                Integer.parseInt(options.getOrDefault("facilities", "60")),
+                Integer.parseInt(options.getOrDefault("users", "2000")),
+                Integer.parseInt(options.getOrDefault("bookings", "20000")),
+                Integer.parseInt(options.getOrDefault("hot-facilities", "5")),
+                parseMix(options.getOrDefault("mix", "login:10,slots:50,book:25,list:15")),
+                options.get("locking-mode"),
+                !options.containsKey("without-overlap-constraint"),
+                options.get("jdbc-url"),
+                options.getOrDefault("db-user", "postgres"),
+                options.getOrDefault("db-password", "postgres"),
+                options.getOrDefault("report", "loadtest-report.json"));
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            mix.put(Operation.fromKey(kv[0]), Integer.parseInt(kv[1]));
+        }
+        return mix;
+    }
+
+    /**
+     * The operations a virtual user performs, keyed as in {@code --mix}.
+     */
+    enum Operation {
+        LOGIN("login", "POST /api/auth/login"),
+        SLOTS("slots", "GET /api/availability/slots"),
+        BOOK("book", "POST /api/bookings"),
+        LIST("list", "GET /api/bookings/page");
+
+        final String key;
+        final String label;
+
+        Operation(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation op : values()) {
+                if (op.key.equals(key)) {
+                    return op;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in --mix: " + key);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.backend.loadtest;
+
+import com.backend.loadtest.LoadTestConfig.Operation;
+import com.backend.project.ProjectApplication;
+import com.backend.project.service.FacilityCatalog;
+import com.backend.project.service.UtilizationRollup;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.net.URI;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end load test: starts Postgres (embedded unless {@code --jdbc-url} is given), boots the
+ * application on a random port against it, seeds data, drives the weighted request mix and
+ * reports per-endpoint latency and throughput. Exits with status 2 if any double booking exists.
+ */
+public final class LoadTestMain {
+
+    // Schema pieces Hibernate does not generate (id sequence column default, indexes)
+    private static final String[] SCHEMA_SCRIPTS = {
+            "db/booking-id-sequence.sql",
+            "db/booking-history-index.sql",
+            "db/revoked-tokens.sql"
+    };
+    // The exclusion constraint, left out with --without-overlap-constraint
+    private static final String OVERLAP_CONSTRAINT_SCRIPT = "db/booking-no-overlap.sql";
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        EmbeddedPostgres embedded = null;
+        String jdbcUrl = config.jdbcUrl();
+        if (jdbcUrl == null) {
+            System.out.println("Starting embedded Postgres...");
+            embedded = EmbeddedPostgres.builder().start();
+            jdbcUrl = embedded.getJdbcUrl("postgres", "postgres");
+        }
+
+        long doubleBookings;
+        try (ConfigurableApplicationContext app = startApplication(config, jdbcUrl);
+             ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            DataSource dataSource = new DriverManagerDataSource(jdbcUrl, config.dbUser(), config.dbPassword());
+            applySchemaScripts(dataSource, config.overlapConstraint());
+
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            System.out.printf("Seeding %d facilities, %d users, %d bookings...%n",
+                    config.facilities(), config.users(), config.bookings());
+            Seeder.SeedData seed = new Seeder(jdbc).seed(config);
+            // Seeded straight through JDBC, so the catalog and rollups have to pick the data up
+            app.getBean(FacilityCatalog.class).reload();
+            app.getBean(UtilizationRollup.class).rebuild();
+
+            URI baseUri = URI.create("http://localhost:" + app.getEnvironment().getProperty("local.server.port"));
+            System.out.printf("Running against %s (%s threads): %ds warmup, %ds measured, %d virtual users%n",
+                    baseUri, config.mode(), config.warmup().toSeconds(), config.duration().toSeconds(), config.concurrency());
+            System.out.printf("Metrics at http://localhost:%s/actuator/prometheus%n",
+                    app.getEnvironment().getProperty("local.management.port"));
+            Map<Operation, EndpointStats> stats = new TrafficDriver(baseUri, config, seed, httpExecutor).run();
+
+            Report report = new Report(config, app.getEnvironment().getProperty("booking.locking.mode"), stats, jdbc);
+            report.print();
+            report.write(new File(config.report()));
+            doubleBookings = report.doubleBookings();
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+        System.exit(doubleBookings == 0 ? 0 : 2);
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestConfig config, String jdbcUrl) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        List<String> args = new ArrayList<>(List.of(
+                // "virtual" activates application-virtual.properties; "platform" matches no profile file
+                "--spring.profiles.active=" + config.mode(),
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + config.dbUser(),
+                "--spring.datasource.password=" + config.dbPassword(),
+                "--secret.key=" + Base64.getEncoder().encodeToString(secret),
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                // The schema scripts, constraint included, are applied right after startup
+                "--booking.overlap-constraint.required=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"));
+        if (config.lockingMode() != null) {
+            args.add("--booking.locking.mode=" + config.lockingMode());
+        }
+        // Command-line arguments override application.properties and any .env file
+        return SpringApplication.run(ProjectApplication.class, args.toArray(String[]::new));
+    }
+
+    private static void applySchemaScripts(DataSource dataSource, boolean overlapConstraint) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        for (String script : SCHEMA_SCRIPTS) {
+            populator.addScript(new ClassPathResource(script));
+        }
+        if (overlapConstraint) {
+            populator.addScript(new ClassPathResource(OVERLAP_CONSTRAINT_SCRIPT));
+        }
+        // Scripts are written to be re-runnable against existing databases; tolerate what already exists
+        populator.setContinueOnError(true);
+        populator.execute(dataSource);
+    }
+}
@@ -0,0 +1,105 @@
+package com.backend.loadtest;
+
+import com.backend.loadtest.LoadTestConfig.Operation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-endpoint throughput, latency percentiles and status counts, plus the number of
+ * overlapping CONFIRMED booking pairs left in the database — which must be zero.
+ */
+final class Report {
+
+    private static final String DOUBLE_BOOKINGS = """
+            SELECT COUNT(*) FROM bookings a
+            JOIN bookings b ON a.facility_id = b.facility_id AND a.date = b.date AND a.id < b.id
+            WHERE a.status = 'CONFIRMED' AND b.status = 'CONFIRMED'
+              AND a.start_time < b.end_time AND b.start_time < a.end_time
+            """;
+
+    private final LoadTestConfig config;
+    private final Map<Operation, EndpointStats> stats;
+    private final String lockingMode;
+    private final long doubleBookings;
+
+    Report(LoadTestConfig config, String lockingMode, Map<Operation, EndpointStats> stats, JdbcTemplate jdbc) {
+        this.config = config;
+        this.lockingMode = lockingMode;
+        this.stats = stats;
+        Long overlaps = jdbc.queryForObject(DOUBLE_BOOKINGS, Long.class);
+        this.doubleBookings = overlaps == null ? 0 : overlaps;
+    }
+
+    long doubleBookings() {
+        return doubleBookings;
+    }
+
+    void print() {
+        double seconds = config.duration().toMillis() / 1000.0;
+        System.out.printf("%nLoad test (%s threads): %d virtual users, %ds measured after %ds warmup%n",
+                config.mode(), config.concurrency(), config.duration().toSeconds(), config.warmup().toSeconds());
+        System.out.printf("Booking locks: %s, overlap constraint: %s%n",
+                lockingMode, config.overlapConstraint() ? "on" : "off");
+        System.out.printf("%-30s %9s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "statuses");
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats s = entry.getValue();
+            double[] p = s.percentilesMillis();
+            System.out.printf("%-30s %9d %9.1f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    entry.getKey().label, s.count(), s.count() / seconds, p[0], p[1], p[2], p[3], s.statuses());
+        }
+        System.out.printf("Double bookings: %d%s%n", doubleBookings, doubleBookings == 0 ? "" : "  <-- FAIL");
+    }
+
+    void write(File file) {
+        double seconds = config.duration().toMillis() / 1000.0;
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats s = entry.getValue();
+            double[] p = s.percentilesMillis();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", entry.getKey().label);
+            row.put("requests", s.count());
+            row.put("throughputPerSecond", s.count() / seconds);
+            row.put("p50Ms", p[0]);
+            row.put("p95Ms", p[1]);
+            row.put("p99Ms", p[2]);
+            row.put("maxMs", p[3]);
+            Map<String, Long> statuses = new LinkedHashMap<>();
+            s.statuses().forEach((status, n) ->
+                    statuses.put(status == EndpointStats.TRANSPORT_ERROR ? "error" : String.valueOf(status), n));
+            row.put("statuses", statuses);
+            endpoints.add(row);
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("mode", config.mode());
+        settings.put("concurrency", config.concurrency());
+        settings.put("durationSeconds", config.duration().toSeconds());
+        settings.put("warmupSeconds", config.warmup().toSeconds());
+        settings.put("facilities", config.facilities());
+        settings.put("users", config.users());
+        settings.put("bookings", config.bookings());
+        settings.put("hotFacilities", config.hotFacilities());
+        settings.put("lockingMode", lockingMode);
+        settings.put("overlapConstraint", config.overlapConstraint());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.mix().forEach((op, weight) -> mix.put(op.key, weight));
+        settings.put("mix", mix);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("endpoints", endpoints);
+        report.put("doubleBookings", doubleBookings);
+
+        JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build().writeValue(file, report);
+        System.out.println("Report written to " + file.getAbsolutePath());
+    }
+}
@@ -0,0 +1,131 @@
+package com.backend.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeds facilities, users and a booking history with plain JDBC batches. Seeded CONFIRMED
+ * bookings never overlap, so any double booking found afterwards came from the load run.
+ */
+final class Seeder {
+
+    private static final String[] TYPES = {"Study Room", "Lecture Hall", "Lab", "Conference", "Sports"};
+    private static final String[] BUILDINGS = {"Library", "Building A", "Building B", "Science Complex", "Athletic Center"};
+    private static final int BATCH_SIZE = 1000;
+    private static final int SLOT_COUNT = 26;
+
+    private final JdbcTemplate jdbc;
+    private final Random random = new Random(20250901L);
+
+    Seeder(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    SeedData seed(LoadTestConfig config) {
+        seedFacilities(config.facilities());
+        List<Integer> facilityIds = jdbc.queryForList("SELECT id FROM facilities ORDER BY id", Integer.class);
+        seedUsers(config.users());
+        seedBookings(facilityIds, config.users(), config.bookings());
+        jdbc.execute("ANALYZE");
+        return new SeedData(facilityIds, config.users());
+    }
+
+    private void seedFacilities(int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String type = TYPES[i % TYPES.length];
+            rows.add(new Object[]{type + " " + i, BUILDINGS[i % BUILDINGS.length] + ", Room " + (100 + i),
+                    10 + random.nextInt(190), type});
+        }
+        jdbc.batchUpdate("INSERT INTO facilities (name, location, capacity, type) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    private void seedUsers(int count) {
+        // One hash for everyone: seeding should not spend minutes in BCrypt
+        String hash = new BCryptPasswordEncoder().encode(LoadTestConfig.PASSWORD);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{"Load User " + i, username(i) + "@loadtest.local", username(i), hash, "STUDENT", true});
+            if (rows.size() == BATCH_SIZE) {
+                insertUsers(rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            insertUsers(rows);
+        }
+    }
+
+    private void insertUsers(List<Object[]> rows) {
+        jdbc.batchUpdate("INSERT INTO users (name, email, username, password_hash, role, is_active) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * Bookings between 30 days ago and 14 days ahead, placed on free slots only.
+     */
+    private void seedBookings(List<Integer> facilityIds, int users, int count) {
+        LocalDate today = LocalDate.now();
+        Map<String, Long> occupied = new HashMap<>();
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        int attempts = 0;
+        int created = 0;
+        while (created < count && attempts < count * 5) {
+            attempts++;
+            int facilityId = facilityIds.get(random.nextInt(facilityIds.size()));
+            LocalDate date = today.plusDays(random.nextInt(45) - 30);
+            int startSlot = random.nextInt(SLOT_COUNT - 1);
+            int slots = 1 + random.nextInt(Math.min(4, SLOT_COUNT - startSlot));
+            long mask = ((1L << slots) - 1) << startSlot;
+
+            String key = facilityId + "|" + date;
+            long taken = occupied.getOrDefault(key, 0L);
+            if ((taken & mask) != 0) {
+                continue;
+            }
+            boolean confirmed = random.nextInt(10) != 0;
+            if (confirmed) {
+                occupied.put(key, taken | mask);
+            }
+
+            LocalTime start = LocalTime.of(6, 0).plusMinutes(30L * startSlot);
+            LocalTime end = start.plusMinutes(30L * slots);
+            rows.add(new Object[]{facilityId, studentId(random.nextInt(users)), Date.valueOf(date),
+                    Time.valueOf(start), Time.valueOf(end), confirmed ? "CONFIRMED" : "CANCELLED", "Seeded booking"});
+            created++;
+            if (rows.size() == BATCH_SIZE) {
+                insertBookings(rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            insertBookings(rows);
+        }
+    }
+
+    private void insertBookings(List<Object[]> rows) {
+        jdbc.batchUpdate("INSERT INTO bookings (facility_id, student_id, date, start_time, end_time, status, notes) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    static String username(int i) {
+        return String.format("loaduser%05d", i);
+    }
+
+    static String studentId(int i) {
+        return "S" + (100000 + i);
+    }
+
+    record SeedData(List<Integer> facilityIds, int users) {
+    }
+}
@@ -0,0 +1,198 @@
+package com.backend.loadtest;
+
+import com.backend.loadtest.LoadTestConfig.Operation;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs {@code concurrency} virtual users against the application. Each one picks a seeded user,
+ * logs in, and then performs operations drawn from the weighted mix back to back (closed model,
+ * no think time) until the run ends. Nothing is recorded during the warmup.
+ */
+final class TrafficDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int BOOKING_DAYS_AHEAD = 14;
+    // Bookable starts on the 30-minute grid: 06:00 .. 19:00, 1-2 slots long
+    private static final int GRID_SLOTS = 26;
+
+    private final URI baseUri;
+    private final LoadTestConfig config;
+    private final Seeder.SeedData seed;
+    private final HttpClient client;
+    private final JsonMapper json = JsonMapper.builder().build();
+    private final Operation[] weighted;
+
+    TrafficDriver(URI baseUri, LoadTestConfig config, Seeder.SeedData seed, ExecutorService httpExecutor) {
+        this.baseUri = baseUri;
+        this.config = config;
+        this.seed = seed;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(httpExecutor)
+                .build();
+
+        List<Operation> table = new ArrayList<>();
+        config.mix().forEach((op, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(op);
+            }
+        });
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("--mix must give at least one operation a positive weight");
+        }
+        this.weighted = table.toArray(Operation[]::new);
+    }
+
+    /**
+     * Runs warmup plus measured phase and returns the merged stats of the measured phase.
+     */
+    Map<Operation, EndpointStats> run() throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        List<Future<Map<Operation, EndpointStats>>> workers = new ArrayList<>(config.concurrency());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.concurrency(); i++) {
+                int userIndex = i % seed.users();
+                workers.add(executor.submit(() -> new Worker(userIndex).run(measureFrom, end)));
+            }
+        }
+
+        Map<Operation, EndpointStats> merged = new EnumMap<>(Operation.class);
+        for (Operation op : Operation.values()) {
+            merged.put(op, new EndpointStats());
+        }
+        for (Future<Map<Operation, EndpointStats>> worker : workers) {
+            worker.get().forEach((op, stats) -> merged.get(op).merge(stats));
+        }
+        return merged;
+    }
+
+    private final class Worker {
+
+        private final String username;
+        private final String studentId;
+        private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        private String token;
+
+        Worker(int userIndex) {
+            this.username = Seeder.username(userIndex);
+            this.studentId = Seeder.studentId(userIndex);
+            for (Operation op : Operation.values()) {
+                stats.put(op, new EndpointStats());
+            }
+        }
+
+        Map<Operation, EndpointStats> run(long measureFrom, long end) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (true) {
+                // Log in first; later logins refresh the token like a returning user would
+                Operation op = token == null ? Operation.LOGIN : weighted[random.nextInt(weighted.length)];
+                long started = System.nanoTime();
+                if (started >= end) {
+                    return stats;
+                }
+                int status = execute(op, random);
+                long finished = System.nanoTime();
+                if (started >= measureFrom) {
+                    stats.get(op).record(status, finished - started);
+                }
+            }
+        }
+
+        private int execute(Operation op, ThreadLocalRandom random) {
+            try {
+                return switch (op) {
+                    case LOGIN -> login();
+                    case SLOTS -> send(get("/api/availability/slots?facilityId=" + anyFacility(random)
+                            + "&date=" + LocalDate.now().plusDays(random.nextInt(BOOKING_DAYS_AHEAD + 1)))).statusCode();
+                    case BOOK -> send(post("/api/bookings", bookingBody(random))).statusCode();
+                    case LIST -> send(get("/api/bookings/page?studentId=" + studentId + "&size=20")).statusCode();
+                };
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return EndpointStats.TRANSPORT_ERROR;
+            } catch (Exception e) {
+                return EndpointStats.TRANSPORT_ERROR;
+            }
+        }
+
+        private int login() throws Exception {
+            String body = json.writeValueAsString(Map.of("username", username, "password", LoadTestConfig.PASSWORD));
+            HttpResponse<String> response = send(post("/api/auth/login", body));
+            if (response.statusCode() == 200) {
+                JsonNode tokenNode = json.readTree(response.body()).get("token");
+                if (tokenNode != null) {
+                    token = tokenNode.asString();
+                }
+            }
+            return response.statusCode();
+        }
+
+        /**
+         * A booking on one of the hot facilities within the next two weeks, so writers contend
+         * for the same facility-days and the conflict path is exercised as much as the insert.
+         */
+        private String bookingBody(ThreadLocalRandom random) {
+            List<Integer> ids = seed.facilityIds();
+            int facilityId = ids.get(random.nextInt(Math.min(config.hotFacilities(), ids.size())));
+            LocalDate date = LocalDate.now().plusDays(1 + random.nextInt(BOOKING_DAYS_AHEAD));
+            int slot = random.nextInt(GRID_SLOTS - 1);
+            LocalTime start = LocalTime.of(6, 0).plusMinutes(30L * slot);
+            LocalTime end = start.plusMinutes(30L * (1 + random.nextInt(2)));
+            return json.writeValueAsString(Map.of(
+                    "facilityId", facilityId,
+                    "studentId", studentId,
+                    "date", date.toString(),
+                    "startTime", start.toString(),
+                    "endTime", end.toString(),
+                    "notes", "Load test"));
+        }
+
+        private int anyFacility(ThreadLocalRandom random) {
+            List<Integer> ids = seed.facilityIds();
+            return ids.get(random.nextInt(ids.size()));
+        }
+
+        private HttpRequest.Builder get(String path) {
+            return request(path).GET();
+        }
+
+        private HttpRequest.Builder post(String path, String body) {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+
+        private HttpRequest.Builder request(String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder;
+        }
+
+        private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+            return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.backend.project.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts a {@link GatedDataSource} in front of every Hikari pool. Enabled by the {@code virtual}
+ * profile, where request handling runs on virtual threads and the number of threads no longer
+ * bounds the number of callers competing for connections.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.gate.enabled", havingValue = "true")
+public class ConnectionGateConfig {
+
+    // Static: post-processors are created before regular beans
+    @Bean
+    static BeanPostProcessor connectionGatePostProcessor(Environment environment) {
+        int configuredPermits = environment.getProperty("datasource.gate.permits", Integer.class, 0);
+        long timeoutMs = environment.getProperty("datasource.gate.timeout-ms", Long.class, 60000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    // Default: one permit per pooled connection
+                    int permits = configuredPermits > 0 ? configuredPermits : pool.getMaximumPoolSize();
+                    return new GatedDataSource(pool, pool.getPoolName() != null ? pool.getPoolName() : beanName,
+                            permits, timeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder connectionGateMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream()
+                .filter(GatedDataSource.class::isInstance)
+                .map(GatedDataSource.class::cast)
+                .forEach(gate -> {
+                    Gauge.builder("datasource.gate.waiting", gate, GatedDataSource::waiting)
+                            .description("Threads waiting for a database connection permit")
+                            .tag("pool", gate.getName())
+                            .register(registry);
+                    Gauge.builder("datasource.gate.in-use", gate, GatedDataSource::inUse)
+                            .description("Connections borrowed through the gate")
+                            .tag("pool", gate.getName())
+                            .register(registry);
+                });
+    }
+}
@@ -0,0 +1,128 @@
+package com.backend.project.config;
+
+import com.backend.project.service.ReplicaReads;
+import com.backend.project.service.Workload;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+/**
+ * One connection pool per {@link Workload} (bulkheads) behind a single routing DataSource.
+ *
+ * Interactive writes, interactive reads and reporting/export each draw from their own Hikari
+ * pool. Each pool has its own size, {@code statement_timeout} and {@code hikaricp.*} metrics
+ * (tagged by pool name). A report that holds its connections for minutes can therefore
+ * exhaust only the reporting pool, never the one {@code createBooking} waits on.
+ *
+ * Each connection is chosen when its transaction runs the first statement, because the
+ * routing DataSource sits behind a {@link LazyConnectionDataSourceProxy}. By that time the
+ * transaction's read-only flag is known. A read-only transaction marked through
+ * {@link ReplicaReads} uses the read or reporting pool, and everything else uses the write pool.
+ *
+ * The write pool always connects to the primary. With {@code datasource.replica.enabled} the
+ * read and reporting pools connect to the replica, and otherwise to the primary. To try a
+ * replica locally without a second server, leave {@code datasource.replica.url} unset: it then
+ * points at the primary, which acts as its own replica.
+ */
+@Configuration
+public class DataSourceRoutingConfig {
+
+    @Bean
+    DataSource writePool(Environment environment) {
+        return pool(environment, "write",
+                environment.getRequiredProperty("spring.datasource.url"),
+                environment.getProperty("spring.datasource.username"),
+                environment.getProperty("spring.datasource.password"),
+                false);
+    }
+
+    @Bean
+    DataSource readPool(Environment environment) {
+        return readOnlyPool(environment, "read");
+    }
+
+    @Bean
+    DataSource reportingPool(Environment environment) {
+        return readOnlyPool(environment, "reporting");
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("writePool") DataSource writePool,
+                          @Qualifier("readPool") DataSource readPool,
+                          @Qualifier("reportingPool") DataSource reportingPool) {
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                        ? Workload.current() : Workload.WRITE;
+            }
+        };
+        routing.setTargetDataSources(Map.of(
+                Workload.WRITE, writePool,
+                Workload.READ, readPool,
+                Workload.REPORTING, reportingPool));
+        routing.setDefaultTargetDataSource(writePool);
+        routing.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        // Known defaults, so the proxy never opens a connection just to ask for them
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        proxy.setTargetDataSource(routing);
+        proxy.afterPropertiesSet();
+        return proxy;
+    }
+
+    private static DataSource readOnlyPool(Environment environment, String name) {
+        boolean replica = environment.getProperty("datasource.replica.enabled", Boolean.class, false);
+        String prefix = replica ? "datasource.replica" : "spring.datasource";
+        // Read-only either way: a routing mistake fails loudly instead of writing somewhere unexpected
+        return pool(environment, name,
+                environment.getRequiredProperty(prefix + ".url"),
+                environment.getProperty(prefix + ".username"),
+                environment.getProperty(prefix + ".password"),
+                true);
+    }
+
+    /**
+     * A pool named {@code <spring.datasource.hikari.pool-name>-<name>}, configured from
+     * {@code spring.datasource.hikari.*}, then overridden by
+     * {@code datasource.pools.<name>.hikari.*}, with {@code datasource.pools.<name>.statement-timeout-ms}
+     * applied to every connection it opens.
+     */
+    private static HikariDataSource pool(Environment environment, String name,
+                                         String url, String username, String password, boolean readOnly) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setDriverClassName(environment.getProperty("spring.datasource.driver-class-name"));
+
+        Binder binder = Binder.get(environment);
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        // Distinct names keep the pools apart in hikaricp.* metrics and logs
+        pool.setPoolName((pool.getPoolName() != null ? pool.getPoolName() : "HikariPool") + "-" + name);
+        binder.bind("datasource.pools." + name + ".hikari", Bindable.ofInstance(pool));
+
+        long statementTimeoutMs = environment.getProperty(
+                "datasource.pools." + name + ".statement-timeout-ms", Long.class, 0L);
+        if (statementTimeoutMs > 0) {
+            pool.setConnectionInitSql("SET statement_timeout = " + statementTimeoutMs);
+        }
+        pool.setReadOnly(readOnly);
+        return pool;
+    }
+}
@@ -0,0 +1,90 @@
+package com.backend.project.config;
+
+import com.backend.project.model.Booking;
+import com.backend.project.service.BookingLockManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.SequenceGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Verifies at startup that the hand-applied {@code db/*.sql} pieces the booking write path
+ * depends on are present. Hibernate's {@code ddl-auto=validate} only checks tables and
+ * columns, so without this a forgotten script would go unnoticed until it matters.
+ *
+ * {@code bookings_no_overlap} is what keeps CONFIRMED bookings apart when writers are not
+ * serialized by database locks: always in {@code none} mode, and in {@code local} mode as soon
+ * as two nodes share the database. Unless {@code booking.overlap-constraint.required} is
+ * switched off, startup fails without it in those modes. In {@code distributed} mode the
+ * advisory locks do the job, so a missing constraint is only logged.
+ *
+ * {@code bookings_id_seq} (db/booking-id-sequence.sql) must exist and step by Booking.id's
+ * {@code allocationSize}; otherwise the pooled generator hands out ids that collide.
+ */
+@Component
+// After Hibernate, so a schema it creates (ddl-auto=create) is there to be checked
+@DependsOn("entityManagerFactory")
+public class DatabaseSchemaCheck {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseSchemaCheck.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingLockManager bookingLocks;
+    private final boolean overlapConstraintRequired;
+
+    public DatabaseSchemaCheck(JdbcTemplate jdbcTemplate, BookingLockManager bookingLocks,
+                               @Value("${booking.overlap-constraint.required:true}") boolean overlapConstraintRequired) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bookingLocks = bookingLocks;
+        this.overlapConstraintRequired = overlapConstraintRequired;
+    }
+
+    @PostConstruct
+    void verify() {
+        verifyIdSequence();
+        if (!hasConstraint("bookings", "bookings_no_overlap")) {
+            String message = "Constraint bookings_no_overlap is missing; apply db/booking-no-overlap.sql";
+            if (overlapConstraintRequired && !bookingLocks.isDistributed()) {
+                throw new IllegalStateException(message + " (required in booking.locking.mode=none/local, "
+                        + "see booking.overlap-constraint.required)");
+            }
+            logger.warn("{}. Overlapping bookings are only prevented by the application's locks", message);
+        }
+    }
+
+    private void verifyIdSequence() {
+        SequenceGenerator generator = idGenerator();
+        List<Long> increments = jdbcTemplate.queryForList(
+                "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?",
+                Long.class, generator.sequenceName());
+        if (increments.isEmpty()) {
+            throw new IllegalStateException("Sequence " + generator.sequenceName()
+                    + " is missing; apply db/booking-id-sequence.sql");
+        }
+        if (increments.get(0) != generator.allocationSize()) {
+            throw new IllegalStateException("Sequence " + generator.sequenceName() + " increments by "
+                    + increments.get(0) + " but Booking.id allocates " + generator.allocationSize()
+                    + " ids per block; apply db/booking-id-sequence.sql");
+        }
+    }
+
+    private static SequenceGenerator idGenerator() {
+        try {
+            return Booking.class.getDeclaredField("id").getAnnotation(SequenceGenerator.class);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean hasConstraint(String table, String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = to_regclass(?) AND conname = ?)",
+                Boolean.class, table, name));
+    }
+}
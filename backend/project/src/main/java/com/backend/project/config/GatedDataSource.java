@@ -0,0 +1,128 @@
+package com.backend.project.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits at most {@code permits} borrowers into the connection pool at a time; everyone else
+ * waits in a fair semaphore queue until a connection is closed.
+ *
+ * With virtual threads there can be thousands of concurrent requests for a 10-connection pool.
+ * Parked on a semaphore they cost almost nothing and are served in arrival order, whereas
+ * Hikari's own wait is built for a few hundred platform threads and fails each one after
+ * {@code connection-timeout}. With permits equal to the pool size, Hikari always has a
+ * connection ready for whoever gets through.
+ */
+public class GatedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final String name;
+    private final int maxPermits;
+    private final Semaphore permits;
+    private final long timeoutMs;
+
+    public GatedDataSource(DataSource target, String name, int permits, long timeoutMs) {
+        super(target);
+        this.name = name;
+        this.maxPermits = permits;
+        this.permits = new Semaphore(permits, true);
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releaseOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releaseOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the pool behind the gate, if it can be closed; the wrapper replaces the pool bean,
+     * so this is the destroy method Spring finds.
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Threads waiting for a permit. */
+    public int waiting() {
+        return permits.getQueueLength();
+    }
+
+    /** Permits currently held, i.e. connections borrowed through the gate. */
+    public int inUse() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        name + " - no database connection available after waiting " + timeoutMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException(name + " - interrupted while waiting for a connection", e);
+        }
+    }
+
+    /**
+     * Wraps the pooled connection so that its first {@code close()} also returns the permit.
+     */
+    private Connection releaseOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(GatedDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "close" -> {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        yield null;
+                    }
+                    default -> {
+                        try {
+                            yield method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,51 @@
+package com.backend.project.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Bounded executor for streamed reports and exports (the MVC async executor, which runs
+ * {@code StreamingResponseBody} downloads). When it is full, new downloads are refused with a
+ * 503 instead of queueing without limit; interactive requests never run on it.
+ */
+@Configuration
+public class ReportingExecutorConfig implements WebMvcConfigurer {
+
+    private final ThreadPoolTaskExecutor reportingExecutor;
+
+    public ReportingExecutorConfig(@Qualifier("reportingExecutor") ThreadPoolTaskExecutor reportingExecutor) {
+        this.reportingExecutor = reportingExecutor;
+    }
+
+    @Bean
+    static ThreadPoolTaskExecutor reportingExecutor(@Value("${reporting.executor.threads:2}") int threads,
+                                                    @Value("${reporting.executor.queue-capacity:8}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("reporting-");
+        // Default AbortPolicy: a full queue surfaces as TaskRejectedException → 503
+        return executor;
+    }
+
+    @Bean
+    MeterBinder reportingExecutorMetrics() {
+        return registry -> new ExecutorServiceMetrics(
+                reportingExecutor.getThreadPoolExecutor(), "reporting", List.of()).bindTo(registry);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(reportingExecutor);
+    }
+}
@@ -0,0 +1,59 @@
+package com.backend.project.controller;
+
+import com.backend.project.dto.UtilizationResponse;
+import com.backend.project.service.AnalyticsService;
+import com.backend.project.service.UtilizationRollup;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Tag(name = "Analytics", description = "Facility utilization reports for administrators")
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @Operation(summary = "Get facility utilization",
+               description = "Requires admin privileges. Booked share of opening hours (06:00–19:00) per facility and campus-wide, bucketed "
+                           + "by day, ISO week (Monday start) or month. Served from incrementally maintained "
+                           + "rollups, so the cost depends on facilities × buckets, not on the number of bookings.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Utilization returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid granularity or date range (max 366 buckets)"),
+        @ApiResponse(responseCode = "403", description = "Caller is not an admin"),
+        @ApiResponse(responseCode = "503", description = "Rollup still loading after startup; see Retry-After")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/utilization")
+    public ResponseEntity<UtilizationResponse> getUtilization(
+            @Parameter(description = "Bucket size: day, week or month", example = "week")
+            @RequestParam(defaultValue = "day") String granularity,
+            @Parameter(description = "First date in ISO format (YYYY-MM-DD)", example = "2025-06-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last date (inclusive) in ISO format (YYYY-MM-DD)", example = "2025-06-30")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Optional facility IDs; all facilities when omitted", example = "1,2,3")
+            @RequestParam(required = false) List<Integer> facilityIds,
+            @Parameter(description = "Optional facility type", example = "Study Room")
+            @RequestParam(required = false) String type) {
+        UtilizationRollup.Granularity bucket = UtilizationRollup.Granularity.valueOf(granularity.trim().toUpperCase());
+        return ResponseEntity.ok(analyticsService.getUtilization(bucket, from, to, facilityIds, type));
+    }
+}
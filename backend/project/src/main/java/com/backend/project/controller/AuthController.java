@@ -43,7 +43,8 @@ public class AuthController {
                description = "Creates a new user account with one of the roles: STUDENT, STAFF, or ADMIN.")
     @ApiResponses({
         @ApiResponse(responseCode = "201", description = "User registered successfully"),
-        @ApiResponse(responseCode = "409", description = "Username or email already exists")
+        @ApiResponse(responseCode = "409", description = "Username or email already exists"),
+        @ApiResponse(responseCode = "503", description = "Password hashing is saturated — retry after the Retry-After delay")
     })
     @PostMapping("/register")
     public ResponseEntity<Map<String, Object>> register(
@@ -65,7 +66,7 @@ public class AuthController {
         user.setName(request.getName());
         user.setEmail(request.getEmail());
         user.setUsername(request.getUsername());
-        user.setPasswordHash(authenticationService.getPasswordEncoder().encode(request.getPassword()));
+        user.setPasswordHash(authenticationService.encodePassword(request.getPassword()));
         user.setRole(request.getRole());
         user.setIsActive(true);
 
@@ -89,7 +90,8 @@ public class AuthController {
                            + "The token is also set as an HttpOnly cookie (`next-auth.session-token`).")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Login successful — JWT returned"),
-        @ApiResponse(responseCode = "401", description = "Invalid username or password")
+        @ApiResponse(responseCode = "401", description = "Invalid username or password"),
+        @ApiResponse(responseCode = "503", description = "Password hashing is saturated — retry after the Retry-After delay")
     })
     @PostMapping("/login")
     public ResponseEntity<Map<String, Object>> login(
@@ -1,16 +1,31 @@
 package com.backend.project.controller;
 
+import com.backend.project.dto.AvailabilityMatrixResponse;
+import com.backend.project.dto.FreeSlotResponse;
+import com.backend.project.service.AvailabilityService;
+import com.backend.project.service.AvailabilityStreamService;
+import com.backend.project.service.AvailabilityVersions;
 import com.backend.project.service.BookingService;
+import com.backend.project.service.SlotGrid;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.*;
@@ -22,10 +37,14 @@ import java.util.*;
 public class AvailabilityController {
 
     private final BookingService bookingService;
+    private final AvailabilityService availabilityService;
+    private final AvailabilityVersions availabilityVersions;
+    private final AvailabilityStreamService availabilityStreamService;
+    private final MeterRegistry meterRegistry;
 
-    // Campus operating hours: 06:00 – 19:00
-    private static final LocalTime OPEN_TIME  = LocalTime.of(6, 0);
-    private static final LocalTime CLOSE_TIME = LocalTime.of(19, 0);
+    // 0: proxies must revalidate every time (cheap 304s); > 0 trades that many seconds of staleness
+    @Value("${availability.cache.max-age-seconds:0}")
+    private long slotsMaxAgeSeconds;
 
     @Operation(summary = "Check a specific time slot",
                description = "Returns whether the given facility is available for the requested date and time range.")
@@ -59,41 +78,144 @@ public class AvailabilityController {
                description = "Returns all 30-minute slots within campus operating hours (06:00–19:00) "
                            + "for the given facility and date. Each slot has a `booked` flag.")
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "Slot list returned")
+        @ApiResponse(responseCode = "200", description = "Slot list returned"),
+        @ApiResponse(responseCode = "304", description = "Slots unchanged since the given ETag")
     })
     @GetMapping("/slots")
     public ResponseEntity<Map<String, Object>> getAvailableSlots(
             @Parameter(description = "Facility ID", example = "1")
             @RequestParam Integer facilityId,
             @Parameter(description = "Date in ISO format (YYYY-MM-DD)", example = "2025-06-15")
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-
-        List<Map<String, Object>> slots = new ArrayList<>();
-
-        LocalTime cursor = OPEN_TIME;
-        while (cursor.isBefore(CLOSE_TIME)) {
-            LocalTime slotStart = cursor;
-            LocalTime slotEnd   = cursor.plusMinutes(30);
-
-            // Only include the slot if its end does not exceed closing time
-            if (!slotEnd.isAfter(CLOSE_TIME)) {
-                boolean available = bookingService.checkAvailability(facilityId, date, slotStart, slotEnd);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest webRequest) {
+
+        boolean indexed = bookingService.isOccupancyIndexed();
+        long occupancy = 0L;
+        String etag;
+        if (indexed) {
+            // Version first, then data: a change in between only costs the client a refetch
+            etag = availabilityVersions.etag(facilityId, date);
+        } else {
+            // Writes through other nodes never bump this node's versions: tag the data itself
+            occupancy = bookingService.getSlotOccupancy(facilityId, date);
+            etag = availabilityVersions.contentEtag(occupancy);
+        }
+        CacheControl cacheControl = slotsCacheControl();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
 
-                Map<String, Object> slot = new LinkedHashMap<>();
-                slot.put("start",  String.format("%02d:%02d", slotStart.getHour(), slotStart.getMinute()));
-                slot.put("end",    String.format("%02d:%02d", slotEnd.getHour(),   slotEnd.getMinute()));
-                slot.put("booked", !available);
-                slots.add(slot);
-            }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (indexed) {
+            // One fetch of the day's bookings, swept into a slot bitmap
+            occupancy = bookingService.getSlotOccupancy(facilityId, date);
+        }
 
-            cursor = cursor.plusMinutes(30);
+        List<Map<String, Object>> slots = new ArrayList<>(SlotGrid.SLOT_COUNT);
+        for (int i = 0; i < SlotGrid.SLOT_COUNT; i++) {
+            Map<String, Object> slot = new LinkedHashMap<>();
+            slot.put("start",  SlotGrid.format(SlotGrid.slotStart(i)));
+            slot.put("end",    SlotGrid.format(SlotGrid.slotEnd(i)));
+            slot.put("booked", SlotGrid.isBooked(occupancy, i));
+            slots.add(slot);
         }
 
         Map<String, Object> response = new LinkedHashMap<>();
         response.put("facilityId", facilityId);
         response.put("date", date.toString());
         response.put("slots", slots);
+        sample.stop(meterRegistry.timer("availability.slots.build"));
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(response);
+    }
+
+    @Operation(summary = "Stream availability changes",
+               description = "Server-Sent Events stream for every facility × date in the request (at most 500). "
+                           + "Sends one `snapshot` event per facility-day, then a `delta` event whenever a committed "
+                           + "booking change alters its slots. Events carry the full occupancy bitmap plus the "
+                           + "booked/freed bits; bit i is the slot starting at 06:00 + i × 30 minutes. "
+                           + "Only this node's writes reach the stream, so it is refused with 503 when several nodes "
+                           + "share the database (booking.locking.mode=distributed); poll /slots with its ETag instead.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "400", description = "No facility/date given or too many facility-days"),
+        @ApiResponse(responseCode = "404", description = "Unknown facility id"),
+        @ApiResponse(responseCode = "503", description = "Too many open streams, or streaming unavailable in distributed lock mode")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(
+            @Parameter(description = "Facility IDs", example = "1,2")
+            @RequestParam List<Integer> facilityIds,
+            @Parameter(description = "First date in ISO format (YYYY-MM-DD)", example = "2025-06-15")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last date (inclusive); defaults to from", example = "2025-06-16")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : from;
+        if (end.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        Set<LocalDate> dates = new LinkedHashSet<>();
+        for (LocalDate day = from; !day.isAfter(end) && dates.size() <= 31; day = day.plusDays(1)) {
+            dates.add(day);
+        }
+        if (dates.size() > 31) {
+            throw new IllegalArgumentException("A stream may cover at most 31 days");
+        }
+        return availabilityStreamService.subscribe(new LinkedHashSet<>(facilityIds), dates);
+    }
+
+    @Operation(summary = "Get an availability matrix",
+               description = "Returns a facilities × days × 30-minute slots occupancy matrix for a date range "
+                           + "(max 31 days) in one response. Each facility-day is a slot bitmap: bit i set means "
+                           + "the slot starting at openTime + i × slotMinutes is booked.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Occupancy matrix returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    @GetMapping("/matrix")
+    public ResponseEntity<AvailabilityMatrixResponse> getAvailabilityMatrix(
+            @Parameter(description = "First date in ISO format (YYYY-MM-DD)", example = "2025-06-16")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last date (inclusive) in ISO format (YYYY-MM-DD)", example = "2025-06-22")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Optional facility IDs; all facilities when omitted", example = "1,2,3")
+            @RequestParam(required = false) List<Integer> facilityIds) {
+        return ResponseEntity.ok(availabilityService.getMatrix(from, to, facilityIds));
+    }
+
+    @Operation(summary = "Find me a room",
+               description = "Returns the earliest free windows of the given duration across all facilities "
+                           + "matching the capacity/type/location filters within a date window (max 31 days), "
+                           + "ordered by date, start time and facility.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Free windows returned (possibly empty)"),
+        @ApiResponse(responseCode = "400", description = "Invalid duration, limit or date range")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<FreeSlotResponse>> findFreeSlots(
+            @Parameter(description = "Required duration in minutes (rounded up to 30-minute slots)", example = "60")
+            @RequestParam int duration,
+            @Parameter(description = "Minimum facility capacity", example = "20")
+            @RequestParam(required = false) Integer minCapacity,
+            @Parameter(description = "Facility type", example = "Study Room")
+            @RequestParam(required = false) String type,
+            @Parameter(description = "Substring of the facility location", example = "Library")
+            @RequestParam(required = false) String location,
+            @Parameter(description = "First date to search (defaults to today)", example = "2025-06-15")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last date to search, inclusive (defaults to from + 6 days)", example = "2025-06-21")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Maximum number of results (1–100)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(6);
+        return ResponseEntity.ok(availabilityService.findFreeSlots(
+                duration, minCapacity, type, location, start, end, limit));
+    }
+
+    private CacheControl slotsCacheControl() {
+        return slotsMaxAgeSeconds > 0
+                ? CacheControl.maxAge(Duration.ofSeconds(slotsMaxAgeSeconds)).cachePublic().mustRevalidate()
+                : CacheControl.noCache().cachePublic();
     }
 }
@@ -1,7 +1,12 @@
 package com.backend.project.controller;
 
+import com.backend.project.dto.BookingPageResponse;
 import com.backend.project.dto.BookingRequest;
+import com.backend.project.dto.BookingResponse;
+import com.backend.project.dto.BookingSeriesRequest;
+import com.backend.project.dto.BookingSeriesResponse;
 import com.backend.project.model.Booking;
+import com.backend.project.service.BookingExportService;
 import com.backend.project.service.BookingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,12 +16,21 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Tag(name = "Bookings", description = "Create, read, update, cancel, and delete facility bookings")
 @SecurityRequirement(name = "bearerAuth")
@@ -26,21 +40,90 @@ import java.util.Map;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
 
-    @Operation(summary = "Get all bookings",
-               description = "Returns ALL bookings (including cancelled) for history. "
-                           + "Pass `studentId` to filter by student.")
+    @Operation(summary = "Get recent bookings",
+               deprecated = true,
+               description = "Returns the most recent `limit` bookings (including cancelled), most recent first. "
+                           + "Pass `studentId` to filter by student. Deprecated in favour of `/api/bookings/page`; "
+                           + "when more bookings exist, a `Link` header with `rel=\"next\"` points at the next page there.")
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "List of bookings returned")
+        @ApiResponse(responseCode = "200", description = "List of bookings returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit")
     })
     @GetMapping
-    public ResponseEntity<List<Booking>> getAllBookings(
+    public ResponseEntity<List<BookingResponse>> getAllBookings(
             @Parameter(description = "Optional student ID to filter bookings")
-            @RequestParam(required = false) String studentId) {
-        if (studentId != null && !studentId.isBlank()) {
-            return ResponseEntity.ok(bookingService.getBookingsByStudentId(studentId));
+            @RequestParam(required = false) String studentId,
+            @Parameter(description = "Maximum number of bookings (1–1000)", example = "500")
+            @RequestParam(defaultValue = "500") int limit) {
+        BookingPageResponse recent = bookingService.getRecentBookings(studentId, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().header("Deprecation", "true");
+        if (recent.getNextCursor() != null) {
+            String next = UriComponentsBuilder.fromPath("/api/bookings/page")
+                    .queryParamIfPresent("studentId", Optional.ofNullable(studentId).filter(id -> !id.isBlank()))
+                    .queryParam("cursor", recent.getNextCursor())
+                    .build().encode().toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
         }
-        return ResponseEntity.ok(bookingService.getAllBookings());
+        return response.body(recent.getItems());
+    }
+
+    @Operation(summary = "Get a page of bookings",
+               description = "Cursor-paginated booking history, most recent first (date, start time, id). "
+                           + "Pass the returned `nextCursor` as `cursor` to fetch the following page; "
+                           + "it is null on the last page.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of bookings returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    @GetMapping("/page")
+    public ResponseEntity<BookingPageResponse> getBookingPage(
+            @Parameter(description = "Optional status filter", example = "CONFIRMED")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Optional facility ID filter", example = "1")
+            @RequestParam(required = false) Integer facilityId,
+            @Parameter(description = "Optional student ID filter", example = "S12345")
+            @RequestParam(required = false) String studentId,
+            @Parameter(description = "Earliest booking date (inclusive)", example = "2025-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Latest booking date (inclusive)", example = "2025-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1–200)", example = "50")
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(bookingService.getBookingPage(status, facilityId, studentId, from, to, cursor, size));
+    }
+
+    @Operation(summary = "Export booking history",
+               description = "Requires admin privileges. Streams every booking (including cancelled) as NDJSON "
+                           + "(one JSON object per line) or CSV. CSV cells that would run as spreadsheet formulas "
+                           + "are prefixed with '. Rows are written as they are read from the database, so exports of any "
+                           + "size run in constant memory.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Export stream started"),
+        @ApiResponse(responseCode = "403", description = "Caller is not an admin"),
+        @ApiResponse(responseCode = "503", description = "Too many exports running; see Retry-After")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @Parameter(description = "Output format: ndjson or csv", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        BookingExportService.Format exportFormat = BookingExportService.Format.valueOf(format.trim().toUpperCase());
+        MediaType contentType = exportFormat == BookingExportService.Format.CSV
+                ? new MediaType("text", "csv")
+                : new MediaType("application", "x-ndjson");
+        String filename = "bookings." + exportFormat.name().toLowerCase();
+
+        StreamingResponseBody body = out -> bookingExportService.export(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
     }
 
     @Operation(summary = "Get a booking by ID",
@@ -50,10 +133,10 @@ public class BookingController {
         @ApiResponse(responseCode = "404", description = "Booking not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Booking> getBookingById(
+    public ResponseEntity<BookingResponse> getBookingById(
             @Parameter(description = "Booking ID", example = "1")
             @PathVariable Integer id) {
-        return ResponseEntity.ok(bookingService.getBookingById(id));
+        return ResponseEntity.ok(BookingResponse.from(bookingService.getBookingById(id)));
     }
 
     @Operation(summary = "Create a booking",
@@ -63,9 +146,26 @@ public class BookingController {
         @ApiResponse(responseCode = "400", description = "Validation error or time conflict")
     })
     @PostMapping
-    public ResponseEntity<Booking> createBooking(@Valid @RequestBody BookingRequest request) {
+    public ResponseEntity<BookingResponse> createBooking(@Valid @RequestBody BookingRequest request) {
         Booking booking = bookingService.createBooking(request);
-        return new ResponseEntity<>(booking, HttpStatus.CREATED);
+        return new ResponseEntity<>(BookingResponse.from(booking), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Create a recurring booking series",
+               description = "Expands a DAILY/WEEKLY recurrence rule (max 200 occurrences) and books every date. "
+                           + "ALL_OR_NOTHING creates nothing if any occurrence conflicts; BEST_EFFORT creates every "
+                           + "free occurrence. The response reports the outcome of each occurrence.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "At least one booking created"),
+        @ApiResponse(responseCode = "400", description = "Validation error or invalid recurrence rule"),
+        @ApiResponse(responseCode = "404", description = "Facility not found"),
+        @ApiResponse(responseCode = "409", description = "No booking created because of conflicts")
+    })
+    @PostMapping("/series")
+    public ResponseEntity<BookingSeriesResponse> createSeries(@Valid @RequestBody BookingSeriesRequest request) {
+        BookingSeriesResponse result = bookingService.createSeries(request);
+        HttpStatus status = result.getCreated() > 0 ? HttpStatus.CREATED : HttpStatus.CONFLICT;
+        return new ResponseEntity<>(result, status);
     }
 
     @Operation(summary = "Update a booking",
@@ -76,12 +176,12 @@ public class BookingController {
         @ApiResponse(responseCode = "404", description = "Booking not found")
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Booking> updateBooking(
+    public ResponseEntity<BookingResponse> updateBooking(
             @Parameter(description = "Booking ID", example = "1")
             @PathVariable Integer id,
             @Valid @RequestBody BookingRequest request) {
         Booking booking = bookingService.updateBooking(id, request);
-        return ResponseEntity.ok(booking);
+        return ResponseEntity.ok(BookingResponse.from(booking));
     }
 
     @Operation(summary = "Cancel a booking",
@@ -91,11 +191,11 @@ public class BookingController {
         @ApiResponse(responseCode = "404", description = "Booking not found")
     })
     @PatchMapping("/{id}/cancel")
-    public ResponseEntity<Booking> cancelBooking(
+    public ResponseEntity<BookingResponse> cancelBooking(
             @Parameter(description = "Booking ID", example = "1")
             @PathVariable Integer id) {
         Booking cancelled = bookingService.cancelBooking(id);
-        return ResponseEntity.ok(cancelled);
+        return ResponseEntity.ok(BookingResponse.from(cancelled));
     }
 
     @Operation(summary = "Delete a booking",
@@ -2,20 +2,27 @@ package com.backend.project.controller;
 
 import com.backend.project.dto.FacilityRequest;
 import com.backend.project.model.Facility;
+import com.backend.project.service.FacilityCatalog;
 import com.backend.project.service.FacilityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.Duration;
 
 @Tag(name = "Facilities", description = "Manage campus facility records")
 @RestController
@@ -25,15 +32,29 @@ public class FacilityController {
 
     private final FacilityService facilityService;
 
+    // Lets a reverse proxy serve the list without asking; facilities change a few times a semester
+    @Value("${facility.cache.max-age-seconds:60}")
+    private long cacheMaxAgeSeconds;
+
     @Operation(summary = "Get all facilities",
-               description = "Returns a list of all registered campus facilities.")
+               description = "Returns a list of all registered campus facilities. Served from the "
+                           + "in-memory catalog as pre-serialized JSON with an ETag; send it back in "
+                           + "If-None-Match to get 304 when nothing changed.")
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "List of facilities returned")
+        @ApiResponse(responseCode = "200", description = "List of facilities returned",
+                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                        array = @ArraySchema(schema = @Schema(implementation = Facility.class)))),
+        @ApiResponse(responseCode = "304", description = "Catalog unchanged since the given ETag")
     })
     @GetMapping
-    public ResponseEntity<List<Facility>> getAllFacilities() {
-        List<Facility> facilities = facilityService.getAllFacilities();
-        return ResponseEntity.ok(facilities);
+    public ResponseEntity<byte[]> getAllFacilities() {
+        FacilityCatalog.Snapshot catalog = facilityService.getCatalog();
+        // Spring answers a matching If-None-Match with 304 from the ETag set here
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(cacheMaxAgeSeconds)).cachePublic().mustRevalidate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(catalog.json());
     }
 
     @Operation(summary = "Get a facility by ID",
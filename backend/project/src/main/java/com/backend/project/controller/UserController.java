@@ -0,0 +1,80 @@
+package com.backend.project.controller;
+
+import com.backend.project.dto.UserRoleRequest;
+import com.backend.project.dto.UserStatusRequest;
+import com.backend.project.model.User;
+import com.backend.project.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Tag(name = "Users", description = "Account administration")
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class UserController {
+
+    private final UserService userService;
+
+    @Operation(summary = "Activate or deactivate a user",
+               description = "Requires admin privileges. A deactivated user's tokens stop working on their "
+                           + "next request to this node, and on other nodes within security.user-cache.ttl-seconds "
+                           + "(60 s by default). Tokens younger than security.jwt.trust-claims-seconds keep working "
+                           + "until that window ends.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Account updated"),
+        @ApiResponse(responseCode = "400", description = "Validation error"),
+        @ApiResponse(responseCode = "403", description = "Caller is not an admin"),
+        @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PatchMapping("/{id}/active")
+    public ResponseEntity<Map<String, Object>> setActive(
+            @Parameter(description = "User ID", example = "1")
+            @PathVariable Integer id,
+            @Valid @RequestBody UserStatusRequest request) {
+        return ResponseEntity.ok(toResponse(userService.setActive(id, request.getActive())));
+    }
+
+    @Operation(summary = "Change a user's role",
+               description = "Requires admin privileges. Applies from the user's next request to this node, and "
+                           + "on other nodes within security.user-cache.ttl-seconds (60 s by default). A token "
+                           + "younger than security.jwt.trust-claims-seconds keeps its signed role until that window ends.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Role updated"),
+        @ApiResponse(responseCode = "400", description = "Validation error"),
+        @ApiResponse(responseCode = "403", description = "Caller is not an admin"),
+        @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PatchMapping("/{id}/role")
+    public ResponseEntity<Map<String, Object>> updateRole(
+            @Parameter(description = "User ID", example = "1")
+            @PathVariable Integer id,
+            @Valid @RequestBody UserRoleRequest request) {
+        return ResponseEntity.ok(toResponse(userService.updateRole(id, request.getRole())));
+    }
+
+    // Never the entity itself: it carries the password hash
+    private static Map<String, Object> toResponse(User user) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("id", user.getId());
+        body.put("username", user.getUsername());
+        body.put("email", user.getEmail());
+        body.put("role", user.getRole());
+        body.put("active", user.getIsActive());
+        return body;
+    }
+}
@@ -0,0 +1,34 @@
+package com.backend.project.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Schema(description = "Availability stream event for one facility-day. Bitmaps use the slot grid of the "
+                    + "availability matrix: bit i is the slot starting at 06:00 + i × 30 minutes.")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityDeltaEvent {
+
+    @Schema(description = "Facility ID", example = "1")
+    private Integer facilityId;
+
+    @Schema(description = "Date", example = "2025-06-15")
+    private LocalDate date;
+
+    @Schema(description = "Availability version; matches the ETag counter of /api/availability/slots", example = "42")
+    private long version;
+
+    @Schema(description = "Full occupancy bitmap after the change", example = "48")
+    private long occupancy;
+
+    @Schema(description = "Slots that became booked since the previous event (0 in a snapshot)", example = "16")
+    private long booked;
+
+    @Schema(description = "Slots that became free since the previous event (0 in a snapshot)", example = "0")
+    private long freed;
+}
@@ -0,0 +1,50 @@
+package com.backend.project.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Facilities × days × 30-minute slots occupancy matrix. "
+                    + "Each day is a bitmap: bit i set means slot i (openTime + i × slotMinutes) is booked.")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityMatrixResponse {
+
+    @Schema(description = "First day of the range (inclusive)", example = "2025-06-16")
+    private LocalDate from;
+
+    @Schema(description = "Last day of the range (inclusive)", example = "2025-06-22")
+    private LocalDate to;
+
+    @Schema(description = "Start of the first slot", example = "06:00")
+    private String openTime;
+
+    @Schema(description = "Length of one slot in minutes", example = "30")
+    private int slotMinutes;
+
+    @Schema(description = "Number of slots per day", example = "26")
+    private int slotCount;
+
+    private List<FacilityRow> facilities;
+
+    @Schema(description = "Occupancy of one facility over the range")
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacilityRow {
+
+        @Schema(description = "Facility ID", example = "1")
+        private Integer facilityId;
+
+        @Schema(description = "Facility name", example = "Engineering Lecture Hall A")
+        private String name;
+
+        @Schema(description = "One slot bitmap per day, from `from` to `to`", example = "[0, 12, 67108863]")
+        private long[] days;
+    }
+}
@@ -0,0 +1,11 @@
+package com.backend.project.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Lightweight projection of a CONFIRMED booking's time interval — used by range
+ * queries that only need occupancy, not full Booking entities.
+ */
+public record BookingInterval(Integer facilityId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+}
@@ -0,0 +1,21 @@
+package com.backend.project.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Schema(description = "One page of bookings, most recent first")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPageResponse {
+
+    private List<BookingResponse> items;
+
+    @Schema(description = "Opaque cursor for the next page; null on the last page",
+            example = "MjAyNS0wNi0xNXwwOTowMHw0Mg")
+    private String nextCursor;
+}
@@ -0,0 +1,69 @@
+package com.backend.project.dto;
+
+import com.backend.project.model.Booking;
+import com.backend.project.model.Facility;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * API representation of a booking. Same JSON shape as the Booking entity, but built from
+ * a single fetch-joined/projected row so list endpoints never lazy-load facilities.
+ */
+@Schema(description = "A facility booking")
+@Data
+@NoArgsConstructor
+public class BookingResponse {
+
+    @Schema(description = "Booking ID", example = "42")
+    private Integer id;
+
+    private Facility facility;
+
+    @Schema(description = "Student ID of the person who made the booking", example = "S12345")
+    private String studentId;
+
+    @Schema(description = "Date of the booking", example = "2025-06-15")
+    private LocalDate date;
+
+    @Schema(description = "Booking start time", example = "09:00:00")
+    private LocalTime startTime;
+
+    @Schema(description = "Booking end time", example = "10:30:00")
+    private LocalTime endTime;
+
+    @Schema(description = "Booking status", example = "CONFIRMED")
+    private String status;
+
+    @Schema(description = "Notes or purpose of the booking", example = "Project team meeting")
+    private String notes;
+
+    /**
+     * Flat constructor used by JPQL constructor expressions (one row per booking).
+     */
+    public BookingResponse(Integer id, Integer facilityId, String facilityName, String facilityLocation,
+                           Integer facilityCapacity, String facilityType, String studentId, LocalDate date,
+                           LocalTime startTime, LocalTime endTime, String status, String notes) {
+        this.id = id;
+        this.facility = new Facility(facilityId, facilityName, facilityLocation, facilityCapacity, facilityType);
+        this.studentId = studentId;
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status;
+        this.notes = notes;
+    }
+
+    /**
+     * Copy of a booking whose facility is already loaded (fetch-joined or freshly set).
+     */
+    public static BookingResponse from(Booking booking) {
+        Facility f = booking.getFacility();
+        return new BookingResponse(booking.getId(), f.getId(), f.getName(), f.getLocation(), f.getCapacity(),
+                f.getType(), booking.getStudentId(), booking.getDate(), booking.getStartTime(),
+                booking.getEndTime(), booking.getStatus(), booking.getNotes());
+    }
+}
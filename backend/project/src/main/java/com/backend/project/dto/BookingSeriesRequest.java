@@ -0,0 +1,68 @@
+package com.backend.project.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Schema(description = "Request body for booking the same time slot on a recurring schedule")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSeriesRequest {
+
+    public enum Frequency { DAILY, WEEKLY }
+
+    public enum Mode { ALL_OR_NOTHING, BEST_EFFORT }
+
+    @Schema(description = "ID of the facility to book", example = "1")
+    @NotNull(message = "Facility ID is required")
+    private Integer facilityId;
+
+    @Schema(description = "Student ID of the person making the booking", example = "S12345")
+    @NotNull(message = "Student ID is required")
+    private String studentId;
+
+    @Schema(description = "First date of the series (ISO format)", example = "2025-09-02")
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @Schema(description = "Last date of the series, inclusive (ISO format)", example = "2025-12-16")
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @Schema(description = "Booking start time (ISO format)", example = "16:00:00")
+    @NotNull(message = "Start time is required")
+    private LocalTime startTime;
+
+    @Schema(description = "Booking end time (ISO format)", example = "18:00:00")
+    @NotNull(message = "End time is required")
+    private LocalTime endTime;
+
+    @Schema(description = "Recurrence frequency", example = "WEEKLY")
+    @NotNull(message = "Frequency is required")
+    private Frequency frequency;
+
+    @Schema(description = "Repeat every N days/weeks", example = "1")
+    @Min(value = 1, message = "Interval must be at least 1")
+    private int interval = 1;
+
+    @Schema(description = "Days of the week for WEEKLY series; defaults to the start date's weekday",
+            example = "[\"TUESDAY\"]")
+    private List<DayOfWeek> daysOfWeek;
+
+    @Schema(description = "ALL_OR_NOTHING creates no booking if any occurrence conflicts; "
+                        + "BEST_EFFORT creates every free occurrence", example = "ALL_OR_NOTHING")
+    @NotNull(message = "Mode is required")
+    private Mode mode = Mode.ALL_OR_NOTHING;
+
+    @Schema(description = "Optional notes or purpose for the bookings", example = "Robotics club weekly meeting")
+    private String notes;
+}
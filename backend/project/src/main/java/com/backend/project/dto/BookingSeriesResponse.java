@@ -0,0 +1,49 @@
+package com.backend.project.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Per-occurrence result of a recurring booking request")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSeriesResponse {
+
+    public enum Outcome { CREATED, CONFLICT, SKIPPED }
+
+    @Schema(description = "Mode the series was processed in", example = "BEST_EFFORT")
+    private BookingSeriesRequest.Mode mode;
+
+    @Schema(description = "Number of occurrences the recurrence rule expanded to", example = "15")
+    private int requested;
+
+    @Schema(description = "Number of bookings created", example = "14")
+    private int created;
+
+    @Schema(description = "Number of occurrences that conflicted with existing bookings", example = "1")
+    private int conflicts;
+
+    private List<Occurrence> occurrences;
+
+    @Schema(description = "Result for a single date of the series")
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Occurrence {
+
+        @Schema(description = "Date of the occurrence", example = "2025-09-09")
+        private LocalDate date;
+
+        @Schema(description = "CREATED, CONFLICT, or SKIPPED (free, but not created because "
+                            + "another occurrence conflicted in ALL_OR_NOTHING mode)", example = "CREATED")
+        private Outcome outcome;
+
+        @Schema(description = "ID of the created booking, if any", example = "42")
+        private Integer bookingId;
+    }
+}
@@ -0,0 +1,40 @@
+package com.backend.project.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Schema(description = "A free time window in a facility, returned by the room search")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotResponse {
+
+    @Schema(description = "Facility ID", example = "3")
+    private Integer facilityId;
+
+    @Schema(description = "Facility name", example = "Study Room B2")
+    private String facilityName;
+
+    @Schema(description = "Facility location", example = "Library, 2nd Floor")
+    private String location;
+
+    @Schema(description = "Facility capacity", example = "15")
+    private Integer capacity;
+
+    @Schema(description = "Facility type", example = "Study Room")
+    private String type;
+
+    @Schema(description = "Date of the free window", example = "2025-06-15")
+    private LocalDate date;
+
+    @Schema(description = "Start of the free window", example = "09:00:00")
+    private LocalTime startTime;
+
+    @Schema(description = "End of the free window", example = "10:00:00")
+    private LocalTime endTime;
+}
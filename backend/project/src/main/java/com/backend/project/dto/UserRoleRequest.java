@@ -0,0 +1,19 @@
+package com.backend.project.dto;
+
+import com.backend.project.model.User;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "Request body for changing a user's role")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRoleRequest {
+
+    @Schema(description = "New role", example = "ADMIN")
+    @NotNull(message = "Role is required")
+    private User.Role role;
+}
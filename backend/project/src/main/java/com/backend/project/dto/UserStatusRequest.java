@@ -0,0 +1,18 @@
+package com.backend.project.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "Request body for activating or deactivating a user account")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatusRequest {
+
+    @Schema(description = "Whether the account may sign in and use its tokens", example = "false")
+    @NotNull(message = "Active flag is required")
+    private Boolean active;
+}
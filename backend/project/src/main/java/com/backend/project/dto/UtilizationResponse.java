@@ -0,0 +1,71 @@
+package com.backend.project.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Booked share of opening hours per facility and per bucket (day, ISO week or month), "
+                    + "plus campus-wide totals. Only CONFIRMED bookings count.")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtilizationResponse {
+
+    @Schema(description = "Bucket size", example = "WEEK")
+    private String granularity;
+
+    @Schema(description = "Start of the first bucket (the bucket containing `from`)", example = "2025-06-16")
+    private LocalDate from;
+
+    @Schema(description = "Start of the last bucket (the bucket containing `to`)", example = "2025-07-07")
+    private LocalDate to;
+
+    @Schema(description = "Bookable minutes per facility per day (06:00–19:00)", example = "780")
+    private int openMinutesPerDay;
+
+    @Schema(description = "Totals over all returned facilities, one per bucket")
+    private List<Bucket> campus;
+
+    private List<FacilityRow> facilities;
+
+    @Schema(description = "Utilization of one facility, one entry per bucket")
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacilityRow {
+
+        @Schema(description = "Facility ID", example = "1")
+        private Integer facilityId;
+
+        @Schema(description = "Facility name", example = "Engineering Lecture Hall A")
+        private String name;
+
+        @Schema(description = "Facility type", example = "Lecture Hall")
+        private String type;
+
+        private List<Bucket> buckets;
+    }
+
+    @Schema(description = "Totals of one bucket")
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+
+        @Schema(description = "First day of the bucket", example = "2025-06-16")
+        private LocalDate start;
+
+        @Schema(description = "Booked minutes", example = "1860")
+        private long bookedMinutes;
+
+        @Schema(description = "Number of CONFIRMED bookings", example = "31")
+        private long bookings;
+
+        @Schema(description = "bookedMinutes / bookable minutes of the bucket, between 0 and 1", example = "0.3407")
+        private double utilization;
+    }
+}
@@ -0,0 +1,42 @@
+package com.backend.project.event;
+
+import com.backend.project.model.Booking;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published by BookingService for every booking mutation. {@code before} is null for a
+ * create, {@code after} is null for a delete. Listeners that keep derived state
+ * (calendar index, caches) consume it after the transaction commits.
+ */
+public record BookingChangedEvent(Slot before, Slot after) {
+
+    public static BookingChangedEvent created(Booking booking) {
+        return new BookingChangedEvent(null, Slot.of(booking));
+    }
+
+    public static BookingChangedEvent updated(Slot before, Booking booking) {
+        return new BookingChangedEvent(before, Slot.of(booking));
+    }
+
+    public static BookingChangedEvent deleted(Slot before) {
+        return new BookingChangedEvent(before, null);
+    }
+
+    /**
+     * Immutable copy of the booking fields that matter for availability.
+     */
+    public record Slot(Integer bookingId, Integer facilityId, LocalDate date,
+                       LocalTime startTime, LocalTime endTime, String status) {
+
+        public static Slot of(Booking booking) {
+            return new Slot(booking.getId(), booking.getFacility().getId(), booking.getDate(),
+                    booking.getStartTime(), booking.getEndTime(), booking.getStatus());
+        }
+
+        public boolean isConfirmed() {
+            return "CONFIRMED".equals(status);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.backend.project.exception;
+
+import lombok.Getter;
+
+/**
+ * The server is temporarily overloaded. Mapped to 503 with a {@code Retry-After} header.
+ */
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -3,7 +3,9 @@ package com.backend.project.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -15,12 +17,17 @@ import java.time.LocalTime;
 @AllArgsConstructor
 public class Booking {
 
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts — see db/booking-id-sequence.sql
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_id_seq")
+    @SequenceGenerator(name = "booking_id_seq", sequenceName = "bookings_id_seq", allocationSize = 50)
     private Integer id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Lazy: list/read queries fetch-join or project the facility columns they need
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "facility_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Facility facility;
 
     @Column(name = "student_id", nullable = false, length = 50)
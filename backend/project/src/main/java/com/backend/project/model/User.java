@@ -41,7 +41,8 @@ public class User {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
-    @Column(name = "last_login")
+    // Written only by LastLoginRecorder; entity saves must not overwrite a newer flushed value
+    @Column(name = "last_login", updatable = false)
     private LocalDateTime lastLogin;
 
     /**
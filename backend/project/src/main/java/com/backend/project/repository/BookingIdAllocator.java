@@ -0,0 +1,33 @@
+package com.backend.project.repository;
+
+import com.backend.project.model.Booking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Booking ids for native inserts, taken from the same pooled sequence generator as Hibernate's
+ * batched inserts. Each {@code nextval} reserves a block of {@code allocationSize} ids, so
+ * relying on the column default would burn a whole block per native insert; this hands out
+ * one id from the current block instead.
+ */
+@Component
+public class BookingIdAllocator {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * The next booking id. Must be called inside a transaction: fetching a new block runs
+     * {@code nextval} on the transaction's connection.
+     */
+    public Integer next() {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory()
+                .getMappingMetamodel().getEntityDescriptor(Booking.class).getGenerator();
+        return (Integer) generator.generate(session, null, null, EventType.INSERT);
+    }
+}
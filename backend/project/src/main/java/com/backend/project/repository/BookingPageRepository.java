@@ -0,0 +1,23 @@
+package com.backend.project.repository;
+
+import com.backend.project.dto.BookingResponse;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Keyset-paginated booking history (see {@link BookingPageRepositoryImpl}).
+ */
+public interface BookingPageRepository {
+
+    /**
+     * One page of booking history, ordered (date, startTime, id) descending. Every filter is
+     * optional (null = no filter); the cursor columns are the last row of the previous page
+     * (all null for the first page). No count query is issued.
+     */
+    List<BookingResponse> findPage(String status, Integer facilityId, String studentId,
+                                   LocalDate fromDate, LocalDate toDate,
+                                   LocalDate cursorDate, LocalTime cursorTime, Integer cursorId,
+                                   int limit);
+}
@@ -0,0 +1,76 @@
+package com.backend.project.repository;
+
+import com.backend.project.dto.BookingResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the history query from only the filters that are set, so every filter combination is
+ * its own statement. A single query with {@code (:p IS NULL OR ...)} predicates would get one
+ * generic plan once Postgres switches to it, and that plan cannot use the history indexes
+ * (db/booking-history-index.sql). There are at most 2^5 shapes, so statement caches stay small.
+ */
+class BookingPageRepositoryImpl implements BookingPageRepository {
+
+    private static final String SELECT =
+            "SELECT new com.backend.project.dto.BookingResponse(b.id, f.id, f.name, f.location, f.capacity, f.type, "
+            + "b.studentId, b.date, b.startTime, b.endTime, b.status, b.notes) "
+            + "FROM Booking b JOIN b.facility f";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingResponse> findPage(String status, Integer facilityId, String studentId,
+                                          LocalDate fromDate, LocalDate toDate,
+                                          LocalDate cursorDate, LocalTime cursorTime, Integer cursorId,
+                                          int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (status != null) {
+            conditions.add("b.status = :status");
+            parameters.put("status", status);
+        }
+        if (facilityId != null) {
+            conditions.add("f.id = :facilityId");
+            parameters.put("facilityId", facilityId);
+        }
+        if (studentId != null) {
+            conditions.add("b.studentId = :studentId");
+            parameters.put("studentId", studentId);
+        }
+        if (fromDate != null) {
+            conditions.add("b.date >= :fromDate");
+            parameters.put("fromDate", fromDate);
+        }
+        if (toDate != null) {
+            conditions.add("b.date <= :toDate");
+            parameters.put("toDate", toDate);
+        }
+        if (cursorDate != null) {
+            // Row-value comparison: an index range condition, unlike the equivalent OR chain
+            conditions.add("(b.date, b.startTime, b.id) < (:cursorDate, :cursorTime, :cursorId)");
+            parameters.put("cursorDate", cursorDate);
+            parameters.put("cursorTime", cursorTime);
+            parameters.put("cursorId", cursorId);
+        }
+
+        StringBuilder jpql = new StringBuilder(SELECT);
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY b.date DESC, b.startTime DESC, b.id DESC");
+
+        TypedQuery<BookingResponse> query = entityManager.createQuery(jpql.toString(), BookingResponse.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -1,17 +1,24 @@
 package com.backend.project.repository;
 
+import com.backend.project.dto.BookingInterval;
 import com.backend.project.model.Booking;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
+public interface BookingRepository extends JpaRepository<Booking, Integer>, BookingPageRepository {
 
     /**
      * Find bookings that conflict with a requested time slot for a given facility.
@@ -29,6 +36,86 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
             @Param("endTime") LocalTime endTime
     );
 
+    /**
+     * All CONFIRMED bookings of a facility on a single day — the input for the day slot grid.
+     */
+    @Query("SELECT b FROM Booking b WHERE b.facility.id = :facilityId " +
+           "AND b.date = :date " +
+           "AND b.status = 'CONFIRMED'")
+    List<Booking> findConfirmedByFacilityAndDate(
+            @Param("facilityId") Integer facilityId,
+            @Param("date") LocalDate date
+    );
+
+    /**
+     * CONFIRMED booking intervals for all facilities over a date range (both ends inclusive).
+     */
+    @Query("SELECT new com.backend.project.dto.BookingInterval(b.facility.id, b.date, b.startTime, b.endTime) " +
+           "FROM Booking b WHERE b.date BETWEEN :from AND :to " +
+           "AND b.status = 'CONFIRMED'")
+    List<BookingInterval> findConfirmedIntervals(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * CONFIRMED booking intervals for the given facilities over a date range (both ends inclusive).
+     */
+    @Query("SELECT new com.backend.project.dto.BookingInterval(b.facility.id, b.date, b.startTime, b.endTime) " +
+           "FROM Booking b WHERE b.facility.id IN :facilityIds " +
+           "AND b.date BETWEEN :from AND :to " +
+           "AND b.status = 'CONFIRMED'")
+    List<BookingInterval> findConfirmedIntervals(
+            @Param("facilityIds") Collection<Integer> facilityIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Insert a CONFIRMED booking only if no CONFIRMED booking of the facility overlaps it, and
+     * return the new row joined with its facility — all in one statement / round trip.
+     *
+     * {@code id} comes from {@link BookingIdAllocator}. Returns empty when the slot is taken. The NOT EXISTS guard handles the common case; the
+     * bookings_no_overlap exclusion constraint (db/booking-no-overlap.sql, checked at startup by
+     * DatabaseSchemaCheck) makes it race-free, with ON CONFLICT DO NOTHING turning a concurrent
+     * overlap into an empty result. An unknown facility surfaces as a foreign-key violation.
+     */
+    @Query(value = "WITH ins AS (" +
+                   "  INSERT INTO bookings (id, facility_id, student_id, date, start_time, end_time, status, notes) " +
+                   "  SELECT CAST(:id AS integer), CAST(:facilityId AS integer), CAST(:studentId AS varchar), CAST(:date AS date), " +
+                   "         CAST(:startTime AS time), CAST(:endTime AS time), 'CONFIRMED', CAST(:notes AS varchar) " +
+                   "  WHERE NOT EXISTS (SELECT 1 FROM bookings b WHERE b.facility_id = CAST(:facilityId AS integer) " +
+                   "                    AND b.date = CAST(:date AS date) AND b.status = 'CONFIRMED' " +
+                   "                    AND b.start_time < CAST(:endTime AS time) AND b.end_time > CAST(:startTime AS time)) " +
+                   "  ON CONFLICT DO NOTHING " +
+                   "  RETURNING id, facility_id) " +
+                   "SELECT ins.id AS id, f.id AS \"facilityId\", f.name AS \"facilityName\", f.location AS \"facilityLocation\", " +
+                   "       f.capacity AS \"facilityCapacity\", f.type AS \"facilityType\" " +
+                   "FROM ins JOIN facilities f ON f.id = ins.facility_id",
+           nativeQuery = true)
+    Optional<InsertedBooking> insertIfFree(
+            @Param("id") Integer id,
+            @Param("facilityId") Integer facilityId,
+            @Param("studentId") String studentId,
+            @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime,
+            @Param("endTime") LocalTime endTime,
+            @Param("notes") String notes
+    );
+
+    /**
+     * Row returned by {@link #insertIfFree}: the generated booking id plus the facility columns
+     * the API emits.
+     */
+    interface InsertedBooking {
+        Integer getId();
+        Integer getFacilityId();
+        String getFacilityName();
+        String getFacilityLocation();
+        Integer getFacilityCapacity();
+        String getFacilityType();
+    }
+
     /**
      * Find conflicting bookings excluding a specific booking (used for updates).
      */
@@ -47,15 +134,20 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
     );
 
     /**
-     * Return ALL bookings (including cancelled) ordered by date descending.
-     * Used for booking history — students/admins need to see the full record.
+     * Forward-only stream of the full booking history for exports. Rows are fetched from the
+     * server {@code fetchSize} at a time (Postgres only honours this inside a transaction) and
+     * loaded read-only; callers should detach each booking once written.
      */
-    @Query("SELECT b FROM Booking b ORDER BY b.date DESC, b.startTime DESC")
-    List<Booking> findAllBookings();
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b JOIN FETCH b.facility ORDER BY b.date DESC, b.startTime DESC, b.id DESC")
+    Stream<Booking> streamAllForExport();
 
     /**
-     * Return all bookings for a specific student (by studentId), ordered most recent first.
+     * Single booking with its facility fetched in the same statement.
      */
-    @Query("SELECT b FROM Booking b WHERE b.studentId = :studentId ORDER BY b.date DESC, b.startTime DESC")
-    List<Booking> findByStudentId(@Param("studentId") String studentId);
+    @Query("SELECT b FROM Booking b JOIN FETCH b.facility WHERE b.id = :id")
+    Optional<Booking> findWithFacilityById(@Param("id") Integer id);
 }
@@ -17,6 +17,7 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.backend.project.service.JwtClaims;
 import com.backend.project.service.JwtService;
 
 import java.io.IOException;
@@ -100,23 +101,29 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private boolean processToken(String token, HttpServletRequest request) {
         try {
-            String username = jwtService.extractUsername(token);
-            if (jwtService.isTokenBlacklisted(token)) {
-                logger.warn("Token is blacklisted: {}", token);
+            // Signature and expiry are checked once here; everything below reads the verified claims
+            Optional<JwtClaims> verified = jwtService.verify(token);
+            if (verified.isEmpty()) {
+                logger.debug("Token is invalid or expired");
                 return false;
             }
+            JwtClaims claims = verified.get();
+
+            if (jwtService.isRevoked(claims)) {
+                logger.warn("Token is blacklisted");
+                return false;
+            }
+            String username = claims.username();
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = userDetailsService.loadUserByClaims(claims);
 
-                if (jwtService.isTokenValid(token, userDetails)) {
+                if (claims.subject() != null && claims.subject().equals(userDetails.getUsername())) {
                     logger.debug("Token is valid for user: {}", username);
 
-                    List<GrantedAuthority> authorities = jwtService.extractAuthorities(token);
-
-                    if (authorities.isEmpty()) {
-                        authorities = new ArrayList<>(userDetails.getAuthorities());
-                    }
+                    // From the signed claims only inside the trust-claims window; otherwise from the
+                    // cached or stored user, so a role change or deactivation applies immediately
+                    List<GrantedAuthority> authorities = new ArrayList<>(userDetails.getAuthorities());
 
                     logger.debug("User authorities: {}", authorities);
 
@@ -129,7 +136,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                     logger.debug("Authentication successful for user: {}", username);
                     return true;
                 } else {
-                    logger.debug("Token is invalid or expired for user: {}", username);
+                    logger.debug("Token subject does not match user: {}", username);
                     return false;
                 }
             } return false;
@@ -1,9 +1,11 @@
 package com.backend.project.security;
 
 import java.util.List;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -14,19 +16,24 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.backend.project.service.ReplicaReads;
+
 @EnableMethodSecurity(prePostEnabled = true)
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
     @Lazy
     private final JwtAuthFilter jwtAuthFilter;
+    private final Environment environment;
 
-    public SecurityConfig(@Lazy JwtAuthFilter jwtAuthFilter) {
+    public SecurityConfig(@Lazy JwtAuthFilter jwtAuthFilter, Environment environment) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.environment = environment;
     }
 
     @Bean
@@ -41,8 +48,12 @@ public class SecurityConfig {
                                // Swagger UI & OpenAPI spec
                                "/swagger-ui/**",
                                "/swagger-ui.html",
-                               "/v3/api-docs/**"
+                               "/v3/api-docs/**",
+                               "/actuator/health"
                         ).permitAll()
+                        // The scrape endpoint is open only on the internal management port
+                        .requestMatchers(managementPort()).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -50,6 +61,21 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Requests that arrived on {@code management.server.port}, which is not published outside
+     * the deployment. Never matches when actuator shares the application port. The actual ports
+     * are read per request because either may be chosen at random ({@code 0}) and is only known
+     * once the servers have started.
+     */
+    private RequestMatcher managementPort() {
+        return request -> {
+            Integer management = environment.getProperty("local.management.port", Integer.class);
+            return management != null
+                    && !management.equals(environment.getProperty("local.server.port", Integer.class))
+                    && request.getLocalPort() == management;
+        };
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration config = new CorsConfiguration();
@@ -66,8 +92,8 @@ public class SecurityConfig {
         // Also allow the browser to open files directly (file:// origin shows as "null")
         config.setAllowedOriginPatterns(List.of("*"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        config.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept"));
-        config.setExposedHeaders(List.of("Authorization"));
+        config.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept", ReplicaReads.WRITE_MARKER_HEADER));
+        config.setExposedHeaders(List.of("Authorization", ReplicaReads.WRITE_MARKER_HEADER));
         config.setAllowCredentials(false); // set false when using allowedOriginPatterns("*")
         config.setMaxAge(3600L);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
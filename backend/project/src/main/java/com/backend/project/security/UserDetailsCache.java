@@ -0,0 +1,99 @@
+package com.backend.project.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, TTL-based cache of UserDetails for the JWT filter. Entries are evicted explicitly
+ * by UserService when a user is deactivated or changes role, and expire after the TTL so
+ * changes made on other nodes are picked up too: there, within the TTL.
+ *
+ * A load that read the user before an eviction must not put its result back afterwards.
+ * Loaders take a {@link #generation()} before reading and pass it to {@link #put}; any
+ * eviction since then makes the put a no-op.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped by every eviction, before the entry is removed
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserDetailsCache(@Value("${security.user-cache.ttl-seconds:60}") long ttlSeconds,
+                            @Value("${security.user-cache.max-size:10000}") int maxEntries) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxEntries = maxEntries;
+    }
+
+    public UserDetails get(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.loadedAt > ttlNanos) {
+            entries.remove(username, entry);
+            return null;
+        }
+        return entry.userDetails;
+    }
+
+    /**
+     * Take before reading the user from the database; see {@link #put}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Cache {@code userDetails}, read after {@link #generation()} returned {@code loadedAt}.
+     * Dropped if anything was evicted since.
+     */
+    public void put(UserDetails userDetails, long loadedAt) {
+        if (ttlNanos <= 0 || generation.get() != loadedAt) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            trim();
+        }
+        String username = userDetails.getUsername();
+        Entry entry = new Entry(userDetails, System.nanoTime());
+        entries.put(username, entry);
+        // An eviction that bumped the generation after the check above may have removed
+        // nothing yet; take the entry back out ourselves
+        if (generation.get() != loadedAt) {
+            entries.remove(username, entry);
+        }
+    }
+
+    public void evict(String username) {
+        if (username != null) {
+            generation.incrementAndGet();
+            entries.remove(username);
+        }
+    }
+
+    /**
+     * Drop expired entries; if still full, drop arbitrary ones — they reload on next use.
+     */
+    private void trim() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.loadedAt > ttlNanos);
+
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private record Entry(UserDetails userDetails, long loadedAt) {
+    }
+}
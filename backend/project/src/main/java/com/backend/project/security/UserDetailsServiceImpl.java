@@ -1,19 +1,26 @@
 package com.backend.project.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.backend.project.model.User;
 import com.backend.project.repository.UserRepository;
+import com.backend.project.service.JwtClaims;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
@@ -21,9 +28,33 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Tokens younger than this are trusted on their signed role/userId claims alone (0 = never)
+    @Value("${security.jwt.trust-claims-seconds:0}")
+    private long trustClaimsSeconds;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        long start = System.nanoTime();
+
+        UserDetails cached = userDetailsCache.get(username);
+        if (cached != null) {
+            recordLookup("cache", start);
+            return cached;
+        }
+        try {
+            return loadFromDatabase(username, userDetailsCache.generation());
+        } finally {
+            recordLookup("database", start);
+        }
+    }
 
+    private UserDetails loadFromDatabase(String username, long cacheGeneration) {
         // Find user by username only
         Optional<User> userOpt = userRepository.findByUsername(username);
 
@@ -42,7 +73,39 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         authorities.add(new SimpleGrantedAuthority(roleWithPrefix));
 
         // Use username as principal name
-        return new org.springframework.security.core.userdetails.User(
+        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
                 user.getUsername(), user.getPasswordHash(), user.getIsActive(), true, true, true, authorities);
+        userDetailsCache.put(userDetails, cacheGeneration);
+        return userDetails;
+    }
+
+    /**
+     * UserDetails for an already verified token. Within the freshness window the signed role and
+     * userId claims are trusted as-is, so the request needs no user lookup at all; older tokens
+     * (or tokens without those claims) go through the cached database lookup.
+     */
+    public UserDetails loadUserByClaims(JwtClaims claims) throws UsernameNotFoundException {
+        if (trustClaimsSeconds > 0 && claims.role() != null && claims.userId() != null
+                && claims.issuedAt() != null
+                && Duration.between(claims.issuedAt(), Instant.now()).getSeconds() < trustClaimsSeconds) {
+            long start = System.nanoTime();
+            // No password: the principal is only ever used for authorization, never re-authenticated
+            UserDetails fromClaims = new org.springframework.security.core.userdetails.User(
+                    claims.subject(), "", List.of(new SimpleGrantedAuthority("ROLE_" + claims.role())));
+            recordLookup("claims", start);
+            return fromClaims;
+        }
+        return loadUserByUsername(claims.username());
+    }
+
+    /**
+     * {@code auth.userdetails.lookup}, tagged by where the details came from.
+     */
+    private void recordLookup(String source, long startNanos) {
+        Timer.builder("auth.userdetails.lookup")
+                .description("UserDetails lookup latency")
+                .tag("source", source)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,97 @@
+package com.backend.project.service;
+
+import com.backend.project.dto.UtilizationResponse;
+import com.backend.project.exception.ServiceUnavailableException;
+import com.backend.project.model.Facility;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Campus utilization reports, answered from {@link UtilizationRollup} without touching the
+ * bookings table.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    // About two years of weeks or one year of days: enough for any admin chart
+    private static final int MAX_BUCKETS = 366;
+
+    private static final int OPEN_MINUTES_PER_DAY = SlotGrid.SLOT_COUNT * SlotGrid.SLOT_MINUTES;
+
+    // Retry-After when asked before the first rollup build has finished
+    private static final long NOT_LOADED_RETRY_AFTER_SECONDS = 5;
+
+    private final UtilizationRollup utilizationRollup;
+    private final FacilityCatalog facilityCatalog;
+
+    /**
+     * Utilization of the requested facilities (all when {@code facilityIds} is empty) for every
+     * bucket from the one containing {@code from} to the one containing {@code to}.
+     */
+    public UtilizationResponse getUtilization(UtilizationRollup.Granularity granularity, LocalDate from,
+                                              LocalDate to, List<Integer> facilityIds, String type) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (!utilizationRollup.isLoaded()) {
+            throw new ServiceUnavailableException("Utilization data is still loading", NOT_LOADED_RETRY_AFTER_SECONDS);
+        }
+
+        List<LocalDate> starts = new ArrayList<>();
+        LocalDate last = granularity.bucketStart(to);
+        for (LocalDate start = granularity.bucketStart(from); !start.isAfter(last); start = granularity.nextBucket(start)) {
+            if (starts.size() == MAX_BUCKETS) {
+                throw new IllegalArgumentException("Range cannot exceed " + MAX_BUCKETS + " buckets");
+            }
+            starts.add(start);
+        }
+
+        Set<Integer> wanted = facilityIds == null || facilityIds.isEmpty() ? null : new HashSet<>(facilityIds);
+        List<Facility> facilities = new ArrayList<>();
+        for (Facility facility : facilityCatalog.all()) {
+            if ((wanted == null || wanted.contains(facility.getId()))
+                    && (type == null || type.isBlank() || type.equalsIgnoreCase(facility.getType()))) {
+                facilities.add(facility);
+            }
+        }
+
+        long[] campusMinutes = new long[starts.size()];
+        long[] campusBookings = new long[starts.size()];
+        List<UtilizationResponse.FacilityRow> rows = new ArrayList<>(facilities.size());
+        for (Facility facility : facilities) {
+            List<UtilizationResponse.Bucket> buckets = new ArrayList<>(starts.size());
+            for (int i = 0; i < starts.size(); i++) {
+                LocalDate start = starts.get(i);
+                UtilizationRollup.Usage usage = utilizationRollup.usage(facility.getId(), granularity, start);
+                campusMinutes[i] += usage.minutes();
+                campusBookings[i] += usage.bookings();
+                buckets.add(bucket(start, usage.minutes(), usage.bookings(), openMinutes(granularity, start)));
+            }
+            rows.add(new UtilizationResponse.FacilityRow(facility.getId(), facility.getName(), facility.getType(), buckets));
+        }
+
+        List<UtilizationResponse.Bucket> campus = new ArrayList<>(starts.size());
+        for (int i = 0; i < starts.size(); i++) {
+            campus.add(bucket(starts.get(i), campusMinutes[i], campusBookings[i],
+                    openMinutes(granularity, starts.get(i)) * facilities.size()));
+        }
+
+        return new UtilizationResponse(granularity.name(), starts.get(0), last, OPEN_MINUTES_PER_DAY, campus, rows);
+    }
+
+    private static long openMinutes(UtilizationRollup.Granularity granularity, LocalDate start) {
+        return (long) OPEN_MINUTES_PER_DAY * granularity.days(start);
+    }
+
+    private static UtilizationResponse.Bucket bucket(LocalDate start, long minutes, long bookings, long openMinutes) {
+        double utilization = openMinutes == 0 ? 0 : (double) minutes / openMinutes;
+        return new UtilizationResponse.Bucket(start, minutes, bookings, utilization);
+    }
+}
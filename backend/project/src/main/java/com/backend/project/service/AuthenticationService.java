@@ -2,9 +2,7 @@ package com.backend.project.service;
 
 import java.util.Optional;
 
-import lombok.Getter;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.backend.project.model.User;
@@ -12,24 +10,27 @@ import com.backend.project.model.User;
 @Service
 public class AuthenticationService {
     private final UserService userService;
-    @Getter
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
     @Autowired
-    public AuthenticationService(UserService userService, PasswordEncoder passwordEncoder) {
+    public AuthenticationService(UserService userService, PasswordHashingService passwordHashingService) {
         this.userService = userService;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
     }
 
     public Optional<User> authenticateUser(String username, String rawPassword) {
         Optional<User> userOpt = userService.getUserByUsername(username);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            if (rawPassword != null && !rawPassword.isEmpty() && passwordEncoder.matches(rawPassword, user.getPasswordHash())) {
+            if (rawPassword != null && !rawPassword.isEmpty() && passwordHashingService.matches(rawPassword, user.getPasswordHash())) {
                 userService.updateLastLogin(user);
                 return Optional.of(user);
             }
         }
         return Optional.empty();
     }
+
+    public String encodePassword(String rawPassword) {
+        return passwordHashingService.encode(rawPassword);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+package com.backend.project.service;
+
+import com.backend.project.dto.AvailabilityMatrixResponse;
+import com.backend.project.dto.BookingInterval;
+import com.backend.project.dto.FreeSlotResponse;
+import com.backend.project.model.Facility;
+import com.backend.project.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Multi-facility, multi-day availability views built from a single range query.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityService {
+
+    // Keep matrix requests bounded — a month is plenty for the availability page
+    private static final int MAX_RANGE_DAYS = 31;
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    private final BookingRepository bookingRepository;
+    private final FacilityCatalog facilityCatalog;
+    private final ReplicaReads replicaReads;
+
+    /**
+     * Occupancy of every requested facility (all facilities when {@code facilityIds} is empty)
+     * for each day in [from, to], encoded as one slot bitmap per facility-day.
+     */
+    @Transactional(readOnly = true)
+    public AvailabilityMatrixResponse getMatrix(LocalDate from, LocalDate to, List<Integer> facilityIds) {
+        int dayCount = validateRange(from, to);
+
+        // Catalog order is already by id
+        List<Facility> facilities;
+        if (facilityIds == null || facilityIds.isEmpty()) {
+            facilities = facilityCatalog.all();
+        } else {
+            Set<Integer> wanted = new HashSet<>(facilityIds);
+            facilities = new ArrayList<>(wanted.size());
+            for (Facility facility : facilityCatalog.all()) {
+                if (wanted.contains(facility.getId())) {
+                    facilities.add(facility);
+                }
+            }
+        }
+
+        List<BookingInterval> intervals = replicaReads.read(() -> (facilityIds == null || facilityIds.isEmpty())
+                ? bookingRepository.findConfirmedIntervals(from, to)
+                : bookingRepository.findConfirmedIntervals(facilityIds, from, to));
+
+        // Group in memory: facility → day bitmaps
+        Map<Integer, long[]> occupancy = new HashMap<>();
+        for (Facility facility : facilities) {
+            occupancy.put(facility.getId(), new long[dayCount]);
+        }
+        for (BookingInterval interval : intervals) {
+            long[] days = occupancy.get(interval.facilityId());
+            if (days != null) {
+                int day = (int) ChronoUnit.DAYS.between(from, interval.date());
+                days[day] |= SlotGrid.mask(interval.startTime(), interval.endTime());
+            }
+        }
+
+        List<AvailabilityMatrixResponse.FacilityRow> rows = new ArrayList<>(facilities.size());
+        for (Facility facility : facilities) {
+            rows.add(new AvailabilityMatrixResponse.FacilityRow(
+                    facility.getId(), facility.getName(), occupancy.get(facility.getId())));
+        }
+
+        return new AvailabilityMatrixResponse(from, to, SlotGrid.format(SlotGrid.OPEN_TIME),
+                SlotGrid.SLOT_MINUTES, SlotGrid.SLOT_COUNT, rows);
+    }
+
+    /**
+     * Earliest {@code limit} free windows of {@code durationMinutes} across all facilities matching
+     * the filters, ordered by date, start time and facility.
+     *
+     * One range query loads the CONFIRMED intervals of the candidate facilities into per-day slot
+     * bitmaps; free runs of the required length are then found with word-level bit operations,
+     * so the cost is independent of how many probes a per-facility search would have needed.
+     */
+    @Transactional(readOnly = true)
+    public List<FreeSlotResponse> findFreeSlots(int durationMinutes, Integer minCapacity, String type,
+                                                String location, LocalDate from, LocalDate to, int limit) {
+        int dayCount = validateRange(from, to);
+        int slotsNeeded = (durationMinutes + SlotGrid.SLOT_MINUTES - 1) / SlotGrid.SLOT_MINUTES;
+        if (durationMinutes <= 0 || slotsNeeded > SlotGrid.SLOT_COUNT) {
+            throw new IllegalArgumentException("Duration must be between 1 and "
+                    + SlotGrid.SLOT_COUNT * SlotGrid.SLOT_MINUTES + " minutes");
+        }
+        if (limit <= 0 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+
+        List<Facility> candidates = new ArrayList<>();
+        for (Facility facility : facilityCatalog.all()) {
+            if (matches(facility, minCapacity, type, location)) {
+                candidates.add(facility);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Integer> rowOf = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            rowOf.put(candidates.get(i).getId(), i);
+        }
+
+        // occupancy[facility row][day] — one slot bitmap per facility-day
+        long[][] occupancy = new long[candidates.size()][dayCount];
+        List<BookingInterval> intervals = replicaReads.read(
+                () -> bookingRepository.findConfirmedIntervals(rowOf.keySet(), from, to));
+        for (BookingInterval interval : intervals) {
+            int day = (int) ChronoUnit.DAYS.between(from, interval.date());
+            occupancy[rowOf.get(interval.facilityId())][day] |= SlotGrid.mask(interval.startTime(), interval.endTime());
+        }
+
+        LocalDate today = LocalDate.now();
+        List<FreeSlotResponse> results = new ArrayList<>(limit);
+        long[] runStarts = new long[candidates.size()];
+
+        for (int day = 0; day < dayCount && results.size() < limit; day++) {
+            LocalDate date = from.plusDays(day);
+            if (date.isBefore(today)) {
+                continue;
+            }
+            long allowed = date.equals(today) ? slotsNotStartedBy(LocalTime.now()) : SlotGrid.FULL_DAY;
+
+            // Bit j of runStarts[f] set ⇔ slots j .. j+slotsNeeded-1 are all free in facility f
+            long anyStart = 0L;
+            for (int f = 0; f < candidates.size(); f++) {
+                runStarts[f] = freeRunStarts(~occupancy[f][day] & SlotGrid.FULL_DAY, slotsNeeded) & allowed;
+                anyStart |= runStarts[f];
+            }
+
+            while (anyStart != 0 && results.size() < limit) {
+                int slot = Long.numberOfTrailingZeros(anyStart);
+                anyStart &= anyStart - 1;
+                for (int f = 0; f < candidates.size() && results.size() < limit; f++) {
+                    if ((runStarts[f] & (1L << slot)) != 0) {
+                        Facility facility = candidates.get(f);
+                        results.add(new FreeSlotResponse(facility.getId(), facility.getName(),
+                                facility.getLocation(), facility.getCapacity(), facility.getType(), date,
+                                SlotGrid.slotStart(slot), SlotGrid.slotStart(slot + slotsNeeded)));
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private boolean matches(Facility facility, Integer minCapacity, String type, String location) {
+        if (minCapacity != null && (facility.getCapacity() == null || facility.getCapacity() < minCapacity)) {
+            return false;
+        }
+        if (type != null && !type.isBlank() && !type.equalsIgnoreCase(facility.getType())) {
+            return false;
+        }
+        return location == null || location.isBlank()
+                || facility.getLocation().toLowerCase().contains(location.toLowerCase());
+    }
+
+    /**
+     * Start bits of every run of {@code length} consecutive set bits in {@code free}.
+     */
+    private static long freeRunStarts(long free, int length) {
+        long runs = free;
+        for (int i = 1; i < length && runs != 0; i++) {
+            runs &= free >>> i;
+        }
+        return runs;
+    }
+
+    /**
+     * Slots whose start is not earlier than {@code now}.
+     */
+    private static long slotsNotStartedBy(LocalTime now) {
+        long allowed = 0L;
+        for (int slot = SlotGrid.SLOT_COUNT - 1; slot >= 0 && !SlotGrid.slotStart(slot).isBefore(now); slot--) {
+            allowed |= 1L << slot;
+        }
+        return allowed;
+    }
+
+    private int validateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        return (int) days;
+    }
+}
@@ -0,0 +1,297 @@
+package com.backend.project.service;
+
+import com.backend.project.dto.AvailabilityDeltaEvent;
+import com.backend.project.event.BookingChangedEvent;
+import com.backend.project.exception.ResourceNotFoundException;
+import com.backend.project.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-Sent Events stream of slot changes per (facility, date).
+ *
+ * A subscriber gets a {@code snapshot} event per subscribed facility-day, then a {@code delta}
+ * event whenever a committed booking change alters that day's occupancy. Every event carries the
+ * full occupancy bitmap as well as the booked/freed bits, so a client that missed an event
+ * still converges on the next one.
+ *
+ * Idle subscribers hold no thread: the emitter is an async response. Committing threads only
+ * enqueue events. Each subscriber has its own bounded queue, drained by a small send pool, so a
+ * slow client delays nobody else. A client that falls too far behind is disconnected and can
+ * reconnect for a fresh snapshot.
+ *
+ * Snapshots and deltas come from this node's calendar index, which only sees this node's writes.
+ * With several nodes (distributed lock mode) the stream is therefore refused; clients poll
+ * {@code /api/availability/slots} with its ETag instead.
+ */
+@Service
+public class AvailabilityStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityStreamService.class);
+
+    private static final int MAX_KEYS_PER_SUBSCRIPTION = 500;
+    private static final int MAX_PENDING_EVENTS = 256;
+    private static final long UNAVAILABLE_RETRY_AFTER_SECONDS = 3600;
+
+    private final BookingCalendarIndex calendarIndex;
+    private final AvailabilityVersions availabilityVersions;
+    private final FacilityCatalog facilityCatalog;
+    private final BookingLockManager bookingLocks;
+    private final long timeoutMs;
+    private final int maxSubscribers;
+    private final ExecutorService sendExecutor;
+
+    private final ConcurrentHashMap<BookingLockManager.Key, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> all = ConcurrentHashMap.newKeySet();
+    // Reserved before a subscriber is registered, so concurrent subscribes cannot pass the cap
+    private final AtomicInteger open = new AtomicInteger();
+    // Snapshots and deltas of one facility-day are computed under its stripe, so every
+    // subscriber sees them in commit order
+    private final ReentrantLock[] stripes = new ReentrantLock[64];
+
+    public AvailabilityStreamService(BookingCalendarIndex calendarIndex,
+                                     AvailabilityVersions availabilityVersions,
+                                     FacilityCatalog facilityCatalog,
+                                     BookingLockManager bookingLocks,
+                                     @Value("${availability.stream.timeout-ms:1800000}") long timeoutMs,
+                                     @Value("${availability.stream.max-subscribers:10000}") int maxSubscribers,
+                                     @Value("${availability.stream.send-threads:4}") int sendThreads) {
+        this.calendarIndex = calendarIndex;
+        this.availabilityVersions = availabilityVersions;
+        this.facilityCatalog = facilityCatalog;
+        this.bookingLocks = bookingLocks;
+        this.timeoutMs = timeoutMs;
+        this.maxSubscribers = maxSubscribers;
+        AtomicInteger counter = new AtomicInteger();
+        this.sendExecutor = Executors.newFixedThreadPool(sendThreads, runnable -> {
+            Thread thread = new Thread(runnable, "availability-sse-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Open a stream for every combination of {@code facilityIds} × {@code dates}.
+     */
+    public SseEmitter subscribe(Set<Integer> facilityIds, Set<LocalDate> dates) {
+        if (bookingLocks.isDistributed()) {
+            throw new ServiceUnavailableException("Availability streaming is not available with several nodes; "
+                    + "poll /api/availability/slots instead", UNAVAILABLE_RETRY_AFTER_SECONDS);
+        }
+        if (facilityIds.isEmpty() || dates.isEmpty()) {
+            throw new IllegalArgumentException("At least one facility and one date are required");
+        }
+        if ((long) facilityIds.size() * dates.size() > MAX_KEYS_PER_SUBSCRIPTION) {
+            throw new IllegalArgumentException("A stream may cover at most " + MAX_KEYS_PER_SUBSCRIPTION
+                    + " facility-days");
+        }
+        // Stop at the first unknown id: at most one catalog miss goes to the database
+        for (Integer facilityId : facilityIds) {
+            if (!facilityCatalog.exists(facilityId)) {
+                throw new ResourceNotFoundException("Facility not found with id: " + facilityId);
+            }
+        }
+        if (open.incrementAndGet() > maxSubscribers) {
+            open.decrementAndGet();
+            throw new ServiceUnavailableException("Too many availability streams open, please retry later", 30);
+        }
+
+        List<BookingLockManager.Key> keys = new ArrayList<>(facilityIds.size() * dates.size());
+        for (Integer facilityId : facilityIds) {
+            for (LocalDate date : dates) {
+                keys.add(new BookingLockManager.Key(facilityId, date));
+            }
+        }
+
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMs), keys);
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(subscriber));
+        subscriber.emitter.onError(e -> unsubscribe(subscriber));
+        all.add(subscriber);
+
+        try {
+            for (BookingLockManager.Key key : keys) {
+                ReentrantLock lock = lockFor(key);
+                lock.lock();
+                try {
+                    subscribers.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+                    long version = availabilityVersions.version(key.facilityId(), key.date());
+                    long occupancy = calendarIndex.occupancy(key.facilityId(), key.date());
+                    subscriber.lastSent.put(key, occupancy);
+                    subscriber.enqueue(event("snapshot", new AvailabilityDeltaEvent(
+                            key.facilityId(), key.date(), version, occupancy, 0L, 0L)));
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (RuntimeException e) {
+            // E.g. the calendar index failed to load a day: give the slot back
+            unsubscribe(subscriber);
+            throw e;
+        }
+        return subscriber.emitter;
+    }
+
+    /**
+     * Runs after the calendar index and version counters have applied the change.
+     */
+    @Order(200)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        Set<BookingLockManager.Key> keys = new LinkedHashSet<>(2);
+        if (event.before() != null) {
+            keys.add(new BookingLockManager.Key(event.before().facilityId(), event.before().date()));
+        }
+        if (event.after() != null) {
+            keys.add(new BookingLockManager.Key(event.after().facilityId(), event.after().date()));
+        }
+        for (BookingLockManager.Key key : keys) {
+            if (subscribers.containsKey(key)) {
+                publish(key);
+            }
+        }
+    }
+
+    private void publish(BookingLockManager.Key key) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            Set<Subscriber> listening = subscribers.get(key);
+            if (listening == null || listening.isEmpty()) {
+                return;
+            }
+            long version = availabilityVersions.version(key.facilityId(), key.date());
+            long occupancy = calendarIndex.occupancy(key.facilityId(), key.date());
+            for (Subscriber subscriber : listening) {
+                Long previous = subscriber.lastSent.put(key, occupancy);
+                long before = previous != null ? previous : 0L;
+                if (before == occupancy) {
+                    continue;
+                }
+                subscriber.enqueue(event("delta", new AvailabilityDeltaEvent(key.facilityId(), key.date(),
+                        version, occupancy, occupancy & ~before, before & ~occupancy)));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Comment line every 25 s: keeps proxies from closing idle streams and detects dead clients.
+     */
+    @Scheduled(fixedRate = 25_000)
+    public void heartbeat() {
+        for (Subscriber subscriber : all) {
+            subscriber.enqueue(SseEmitter.event().comment("keep-alive"));
+        }
+    }
+
+    public int subscriberCount() {
+        return open.get();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!all.remove(subscriber)) {
+            return;
+        }
+        open.decrementAndGet();
+        for (BookingLockManager.Key key : subscriber.keys) {
+            subscribers.computeIfPresent(key, (k, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    private ReentrantLock lockFor(BookingLockManager.Key key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private static SseEmitter.SseEventBuilder event(String name, AvailabilityDeltaEvent data) {
+        return SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Subscriber subscriber : all) {
+            subscriber.emitter.complete();
+        }
+        sendExecutor.shutdownNow();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final List<BookingLockManager.Key> keys;
+        private final Map<BookingLockManager.Key, Long> lastSent = new ConcurrentHashMap<>();
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, List<BookingLockManager.Key> keys) {
+            this.emitter = emitter;
+            this.keys = keys;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (pendingCount.incrementAndGet() > MAX_PENDING_EVENTS) {
+                logger.debug("Availability stream subscriber fell behind, disconnecting");
+                unsubscribe(this);
+                emitter.complete();
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                sendExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // Client went away; the emitter callbacks unsubscribe it
+                        pending.clear();
+                        unsubscribe(this);
+                        emitter.completeWithError(e);
+                        return;
+                    }
+                }
+                draining.set(false);
+                // An event may have been added after the last poll but before the flag was cleared
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.backend.project.service;
+
+import com.backend.project.event.BookingChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters per (facility, date), used as strong ETags for availability reads.
+ *
+ * Every committed booking change stamps the affected facility-days with the next value of one
+ * global sequence, so a day's version changes whenever its availability may have changed and
+ * never goes backwards. Keys without an entry report {@code baseline}, which is at least the
+ * version of anything that was ever evicted, so the map stays bounded without a stale 304.
+ * ETags also carry a per-boot id, so tags from before a restart never match.
+ *
+ * Readers must take the version <em>before</em> reading the data; this listener runs after
+ * the calendar index has applied the change.
+ */
+@Component
+public class AvailabilityVersions {
+
+    private final String bootId = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong baseline = new AtomicLong();
+    private final ConcurrentHashMap<BookingLockManager.Key, Long> versions = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public AvailabilityVersions(@Value("${availability.versions.max-entries:50000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public long version(Integer facilityId, LocalDate date) {
+        Long version = versions.get(new BookingLockManager.Key(facilityId, date));
+        return version != null ? version : baseline.get();
+    }
+
+    /**
+     * Strong ETag for the availability of one facility-day.
+     */
+    public String etag(Integer facilityId, LocalDate date) {
+        return "\"" + bootId + "-" + version(facilityId, date) + "\"";
+    }
+
+    /**
+     * Strong ETag derived from the occupancy bitmap itself. For nodes whose versions do not see
+     * every write (see {@code BookingService.isOccupancyIndexed}): the data has to be read
+     * first, but a 304 is never stale.
+     */
+    public String contentEtag(long occupancy) {
+        return "\"o" + Long.toString(occupancy, 36) + "\"";
+    }
+
+    @Order(100)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        long version = sequence.incrementAndGet();
+        if (event.before() != null) {
+            bump(event.before().facilityId(), event.before().date(), version);
+        }
+        if (event.after() != null) {
+            bump(event.after().facilityId(), event.after().date(), version);
+        }
+        if (versions.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    private void bump(Integer facilityId, LocalDate date, long version) {
+        versions.merge(new BookingLockManager.Key(facilityId, date), version, Math::max);
+    }
+
+    private void evict() {
+        // Raise the baseline first: from here on a missing key reports at least any evicted version
+        long floor = sequence.get();
+        baseline.accumulateAndGet(floor, Math::max);
+        for (Map.Entry<BookingLockManager.Key, Long> entry : versions.entrySet()) {
+            if (entry.getValue() <= floor) {
+                versions.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.backend.project.service;
+
+import com.backend.project.event.BookingChangedEvent;
+import com.backend.project.model.Booking;
+import com.backend.project.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-process calendar of CONFIRMED bookings keyed by (facility, date).
+ *
+ * Each day is held as an immutable, start-sorted interval array plus a slot bitmap,
+ * so availability reads never touch the database once a day is loaded. Days are loaded
+ * lazily on first access and kept coherent by write-through from {@link BookingChangedEvent}s
+ * after each booking transaction commits.
+ */
+@Component
+public class BookingCalendarIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingCalendarIndex.class);
+
+    private static final int LOAD_STRIPES = 64;
+
+    private final BookingRepository bookingRepository;
+    private final int maxEntries;
+
+    private final ConcurrentHashMap<Key, DayCalendar> days = new ConcurrentHashMap<>();
+
+    // Loads and write-through updates of the same key are serialized on a stripe, so an
+    // update can never be lost against a concurrent load of a stale snapshot.
+    private final ReentrantLock[] loadLocks = new ReentrantLock[LOAD_STRIPES];
+
+    public BookingCalendarIndex(BookingRepository bookingRepository,
+                                @Value("${booking.calendar.max-entries:20000}") int maxEntries) {
+        this.bookingRepository = bookingRepository;
+        this.maxEntries = maxEntries;
+        for (int i = 0; i < LOAD_STRIPES; i++) {
+            loadLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * True if any CONFIRMED booking other than {@code excludeId} overlaps [startTime, endTime).
+     */
+    public boolean hasConflict(Integer facilityId, LocalDate date,
+                               LocalTime startTime, LocalTime endTime, Integer excludeId) {
+        return day(facilityId, date).overlaps(startTime.toSecondOfDay(), endTime.toSecondOfDay(), excludeId);
+    }
+
+    /**
+     * Slot occupancy bitmap for the day (see {@link SlotGrid}).
+     */
+    public long occupancy(Integer facilityId, LocalDate date) {
+        return day(facilityId, date).occupancy;
+    }
+
+    // Before AvailabilityVersions, so a new ETag is never paired with old occupancy
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        BookingChangedEvent.Slot before = event.before();
+        BookingChangedEvent.Slot after = event.after();
+
+        if (before != null) {
+            update(new Key(before.facilityId(), before.date()), cal -> cal.without(before.bookingId()));
+        }
+        if (after != null) {
+            update(new Key(after.facilityId(), after.date()), cal -> after.isConfirmed()
+                    ? cal.without(after.bookingId()).with(after)
+                    : cal.without(after.bookingId()));
+        }
+    }
+
+    private DayCalendar day(Integer facilityId, LocalDate date) {
+        Key key = new Key(facilityId, date);
+        DayCalendar cal = days.get(key);
+        if (cal != null) {
+            return cal;
+        }
+
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            cal = days.get(key);
+            if (cal == null) {
+                cal = DayCalendar.of(bookingRepository.findConfirmedByFacilityAndDate(facilityId, date));
+                days.put(key, cal);
+            }
+        } finally {
+            lock.unlock();
+        }
+        evictIfFull();
+        return cal;
+    }
+
+    private void update(Key key, UnaryOperator<DayCalendar> change) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            // Days that are not loaded yet will pick the change up from the database
+            days.computeIfPresent(key, (k, cal) -> change.apply(cal));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(Key key) {
+        return loadLocks[Math.floorMod(key.hashCode(), LOAD_STRIPES)];
+    }
+
+    /**
+     * Past days go first; if that is not enough, drop arbitrary entries — they are
+     * re-read from the database on the next access.
+     */
+    private void evictIfFull() {
+        if (days.size() <= maxEntries) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        days.keySet().removeIf(key -> key.date().isBefore(today));
+
+        int excess = days.size() - maxEntries + maxEntries / 10;
+        if (excess > 0) {
+            var it = days.keySet().iterator();
+            while (excess-- > 0 && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        logger.debug("Calendar index trimmed to {} days", days.size());
+    }
+
+    private record Key(Integer facilityId, LocalDate date) {
+    }
+
+    /**
+     * Immutable day calendar: parallel arrays sorted by start second-of-day, with a
+     * running maximum of end times so overlap checks can stop early.
+     */
+    private static final class DayCalendar {
+
+        private static final DayCalendar EMPTY = new DayCalendar(new int[0], new int[0], new int[0]);
+
+        private final int[] ids;
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] maxEndSoFar;
+        private final long occupancy;
+
+        private DayCalendar(int[] ids, int[] starts, int[] ends) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEndSoFar = new int[ends.length];
+            long mask = 0L;
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                max = Math.max(max, ends[i]);
+                maxEndSoFar[i] = max;
+                mask |= SlotGrid.mask(LocalTime.ofSecondOfDay(starts[i]), LocalTime.ofSecondOfDay(ends[i]));
+            }
+            this.occupancy = mask;
+        }
+
+        static DayCalendar of(List<Booking> confirmed) {
+            if (confirmed.isEmpty()) {
+                return EMPTY;
+            }
+            Booking[] sorted = confirmed.toArray(new Booking[0]);
+            Arrays.sort(sorted, Comparator.comparing(Booking::getStartTime));
+            int n = sorted.length;
+            int[] ids = new int[n];
+            int[] starts = new int[n];
+            int[] ends = new int[n];
+            for (int i = 0; i < n; i++) {
+                ids[i] = sorted[i].getId();
+                starts[i] = sorted[i].getStartTime().toSecondOfDay();
+                ends[i] = sorted[i].getEndTime().toSecondOfDay();
+            }
+            return new DayCalendar(ids, starts, ends);
+        }
+
+        boolean overlaps(int start, int end, Integer excludeId) {
+            // Only intervals starting before `end` can overlap
+            int i = firstStartAtOrAfter(end) - 1;
+            for (; i >= 0 && maxEndSoFar[i] > start; i--) {
+                if (ends[i] > start && (excludeId == null || ids[i] != excludeId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        DayCalendar with(BookingChangedEvent.Slot slot) {
+            int start = slot.startTime().toSecondOfDay();
+            int pos = firstStartAtOrAfter(start);
+            return new DayCalendar(
+                    insert(ids, pos, slot.bookingId()),
+                    insert(starts, pos, start),
+                    insert(ends, pos, slot.endTime().toSecondOfDay()));
+        }
+
+        DayCalendar without(Integer bookingId) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == bookingId) {
+                    return new DayCalendar(remove(ids, i), remove(starts, i), remove(ends, i));
+                }
+            }
+            return this;
+        }
+
+        private int firstStartAtOrAfter(int second) {
+            int lo = 0;
+            int hi = starts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] < second) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private static int[] insert(int[] array, int pos, int value) {
+            int[] copy = new int[array.length + 1];
+            System.arraycopy(array, 0, copy, 0, pos);
+            copy[pos] = value;
+            System.arraycopy(array, pos, copy, pos + 1, array.length - pos);
+            return copy;
+        }
+
+        private static int[] remove(int[] array, int pos) {
+            int[] copy = new int[array.length - 1];
+            System.arraycopy(array, 0, copy, 0, pos);
+            System.arraycopy(array, pos + 1, copy, pos, array.length - pos - 1);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.backend.project.service;
+
+import com.backend.project.dto.BookingResponse;
+import com.backend.project.model.Booking;
+import com.backend.project.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams the full booking history as NDJSON or CSV in constant heap: rows come from a
+ * forward-only cursor, are written as soon as they are read, and are detached right after.
+ */
+@Service
+public class BookingExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingExportService.class);
+
+    private static final String CSV_HEADER =
+            "id,facilityId,facilityName,studentId,date,startTime,endTime,status,notes";
+
+    // Push bytes to the client regularly instead of buffering the whole export
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final BookingRepository bookingRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReplicaReads replicaReads;
+
+    public BookingExportService(BookingRepository bookingRepository,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                ReplicaReads replicaReads) {
+        this.bookingRepository = bookingRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.replicaReads = replicaReads;
+    }
+
+    /**
+     * Runs on the reporting executor and reads through the reporting pool, holding one
+     * connection for the whole download.
+     */
+    public void export(Format format, OutputStream out) {
+        replicaReads.report(() -> readOnlyTransaction.execute(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            long rows = 0;
+            try (Stream<Booking> bookings = bookingRepository.streamAllForExport()) {
+                if (format == Format.CSV) {
+                    writer.write(CSV_HEADER);
+                    writer.write('\n');
+                }
+                Iterator<Booking> it = bookings.iterator();
+                while (it.hasNext()) {
+                    Booking booking = it.next();
+                    if (format == Format.CSV) {
+                        writeCsv(writer, booking);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(BookingResponse.from(booking)));
+                        writer.write('\n');
+                    }
+                    entityManager.detach(booking);
+
+                    if (++rows % FLUSH_EVERY_ROWS == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                // Typically the client went away mid-download
+                throw new UncheckedIOException(e);
+            }
+            logger.info("Exported {} bookings as {}", rows, format);
+            return null;
+        }));
+    }
+
+    private static void writeCsv(Writer writer, Booking booking) throws IOException {
+        writer.write(String.valueOf(booking.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(booking.getFacility().getId()));
+        writer.write(',');
+        writer.write(csv(booking.getFacility().getName()));
+        writer.write(',');
+        writer.write(csv(booking.getStudentId()));
+        writer.write(',');
+        writer.write(String.valueOf(booking.getDate()));
+        writer.write(',');
+        writer.write(String.valueOf(booking.getStartTime()));
+        writer.write(',');
+        writer.write(String.valueOf(booking.getEndTime()));
+        writer.write(',');
+        writer.write(csv(booking.getStatus()));
+        writer.write(',');
+        writer.write(csv(booking.getNotes()));
+        writer.write('\n');
+    }
+
+    /**
+     * RFC 4180 quoting: wrap in quotes when needed and double embedded quotes. A value that
+     * a spreadsheet would run as a formula (leading {@code = + - @}, tab or CR) gets a leading
+     * {@code '} so it opens as text.
+     */
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,166 @@
+package com.backend.project.service;
+
+import com.backend.project.exception.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes booking writers per (facility, date) without serializable transactions.
+ *
+ * <ul>
+ *   <li>{@code local} — striped in-JVM locks, enough for a single node.</li>
+ *   <li>{@code distributed} — striped locks plus a Postgres transaction-scoped advisory lock
+ *       per (facility, date), for several nodes sharing one database.</li>
+ *   <li>{@code none} — no locking (previous behaviour).</li>
+ * </ul>
+ *
+ * Writers for unrelated facility/dates only share a stripe by hash collision, so they keep
+ * running in parallel. The in-JVM lock is taken before the transaction starts, so waiting
+ * writers do not hold a pooled connection.
+ *
+ * A writer that cannot get its lock within {@code booking.locking.timeout-ms} gets a
+ * {@link ServiceUnavailableException} (503): the slot may well be free, the facility/date is
+ * just too contended right now. The same goes for the database side: the advisory locks wait
+ * at most {@code timeout-ms} ({@code lock_timeout}), and a writer transaction cancelled by
+ * that or by the write pool's {@code statement_timeout} is answered with 503, not 500.
+ */
+@Component
+public class BookingLockManager {
+
+    public enum Mode { NONE, LOCAL, DISTRIBUTED }
+
+    // Postgres SQLSTATEs of a statement that gave up waiting: lock_timeout, statement_timeout
+    private static final String LOCK_NOT_AVAILABLE = "55P03";
+    private static final String QUERY_CANCELED = "57014";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Mode mode;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+    private final ReentrantLock[] stripes;
+
+    public BookingLockManager(JdbcTemplate jdbcTemplate,
+                              @Value("${booking.locking.mode:local}") String mode,
+                              @Value("${booking.locking.stripes:256}") int stripeCount,
+                              @Value("${booking.locking.timeout-ms:5000}") long timeoutMs,
+                              @Value("${booking.locking.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase());
+        this.timeoutMs = timeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public boolean isDistributed() {
+        return mode == Mode.DISTRIBUTED;
+    }
+
+    /**
+     * Run {@code action} while holding the writer lock for a single facility/date.
+     */
+    public <T> T withLock(Integer facilityId, LocalDate date, Supplier<T> action) {
+        return withLocks(List.of(new Key(facilityId, date)), action);
+    }
+
+    /**
+     * Run {@code action} while holding the writer locks for every key. Stripes are always
+     * acquired in ascending order, so overlapping multi-key writers cannot deadlock.
+     */
+    public <T> T withLocks(Collection<Key> keys, Supplier<T> action) {
+        if (mode == Mode.NONE) {
+            return timeoutsAsBusy(action);
+        }
+
+        TreeSet<Integer> indices = new TreeSet<>();
+        for (Key key : keys) {
+            indices.add(Math.floorMod(key.hashCode(), stripes.length));
+        }
+
+        List<ReentrantLock> held = new ArrayList<>(indices.size());
+        try {
+            for (int index : indices) {
+                ReentrantLock lock = stripes[index];
+                if (!lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw busy();
+                }
+                held.add(lock);
+            }
+            return timeoutsAsBusy(action);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw busy();
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+
+    /**
+     * In distributed mode, take Postgres advisory locks for the keys. Must be called inside
+     * the writing transaction — the locks are released when it commits or rolls back.
+     */
+    public void acquireDatabaseLocks(Collection<Key> keys) {
+        if (mode != Mode.DISTRIBUTED) {
+            return;
+        }
+        // Without it the wait would only end at the write pool's statement_timeout. It also
+        // bounds the row-lock waits of the rest of the transaction.
+        jdbcTemplate.execute("SET LOCAL lock_timeout = " + timeoutMs);
+        // Sorted for the same deadlock-freedom reason as the stripes
+        for (Key key : new TreeSet<>(keys)) {
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?, ?)",
+                    key.facilityId(), (int) key.date().toEpochDay());
+        }
+    }
+
+    private <T> T timeoutsAsBusy(Supplier<T> action) {
+        try {
+            return action.get();
+        } catch (DataAccessException e) {
+            String sqlState = sqlState(e);
+            if (LOCK_NOT_AVAILABLE.equals(sqlState) || QUERY_CANCELED.equals(sqlState)) {
+                throw busy();
+            }
+            throw e;
+        }
+    }
+
+    private static String sqlState(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                return sqlException.getSQLState();
+            }
+        }
+        return null;
+    }
+
+    private ServiceUnavailableException busy() {
+        return new ServiceUnavailableException(
+                "Too many concurrent booking attempts for this facility and date, please retry", retryAfterSeconds);
+    }
+
+    public record Key(Integer facilityId, LocalDate date) implements Comparable<Key> {
+
+        @Override
+        public int compareTo(Key other) {
+            int byFacility = facilityId.compareTo(other.facilityId);
+            return byFacility != 0 ? byFacility : date.compareTo(other.date);
+        }
+    }
+}
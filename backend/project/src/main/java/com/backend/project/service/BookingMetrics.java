@@ -0,0 +1,74 @@
+package com.backend.project.service;
+
+import com.backend.project.exception.BookingConflictException;
+import com.backend.project.exception.ResourceNotFoundException;
+import com.backend.project.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Timers for the booking write path.
+ *
+ * <ul>
+ *   <li>{@code booking.write} — create/update/series latency, tagged by {@code operation} and
+ *       {@code outcome} (success, conflict, busy, not_found, invalid, error).</li>
+ *   <li>{@code booking.conflict.check} — overlap check latency, tagged by {@code source}
+ *       (index or database) and {@code result} (free or conflict).</li>
+ * </ul>
+ *
+ * Percentile histograms are switched on in application.properties.
+ */
+@Component
+public class BookingMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public BookingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T recordWrite(String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } catch (BookingConflictException e) {
+            outcome = "conflict";
+            throw e;
+        } catch (ServiceUnavailableException e) {
+            outcome = "busy";
+            throw e;
+        } catch (ResourceNotFoundException e) {
+            outcome = "not_found";
+            throw e;
+        } catch (IllegalArgumentException e) {
+            outcome = "invalid";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("booking.write")
+                    .description("Booking write latency by operation and outcome")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    public boolean recordConflictCheck(String source, BooleanSupplier check) {
+        long start = System.nanoTime();
+        boolean conflict = check.getAsBoolean();
+        Timer.builder("booking.conflict.check")
+                .description("Overlap check latency")
+                .tag("source", source)
+                .tag("result", conflict ? "conflict" : "free")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return conflict;
+    }
+}
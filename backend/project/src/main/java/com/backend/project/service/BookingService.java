@@ -1,74 +1,167 @@
 package com.backend.project.service;
 
+import com.backend.project.dto.BookingInterval;
+import com.backend.project.dto.BookingPageResponse;
 import com.backend.project.dto.BookingRequest;
+import com.backend.project.dto.BookingResponse;
+import com.backend.project.dto.BookingSeriesRequest;
+import com.backend.project.dto.BookingSeriesResponse;
+import com.backend.project.event.BookingChangedEvent;
 import com.backend.project.exception.BookingConflictException;
 import com.backend.project.exception.ResourceNotFoundException;
 import com.backend.project.model.Booking;
 import com.backend.project.model.Facility;
+import com.backend.project.repository.BookingIdAllocator;
 import com.backend.project.repository.BookingRepository;
-import com.backend.project.repository.FacilityRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
 
     private final BookingRepository bookingRepository;
-    private final FacilityRepository facilityRepository;
+    private final FacilityCatalog facilityCatalog;
+    private final BookingCalendarIndex calendarIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingLockManager bookingLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingMetrics bookingMetrics;
+    private final ReplicaReads replicaReads;
+    private final BookingIdAllocator bookingIds;
 
     // Campus operating hours — no bookings allowed outside this window
     private static final LocalTime OPEN_TIME  = LocalTime.of(6, 0);   // 06:00
     private static final LocalTime CLOSE_TIME = LocalTime.of(19, 0);  // 19:00
 
+    // Postgres SQLSTATEs raised by the bookings constraints
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+    private static final String EXCLUSION_VIOLATION   = "23P01";
+
+    private static final int MAX_SERIES_OCCURRENCES = 200;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_LIST_SIZE = 1000;
+
     /**
-     * Return ALL bookings (including cancelled) ordered most-recent first.
-     * Used by both students (My Bookings) and admins (All Bookings).
+     * The most recent {@code limit} bookings (including cancelled), optionally of one student:
+     * the first page of {@link #getBookingPage}, with a larger size cap. Serves the older
+     * {@code GET /api/bookings} list, which used to return the whole table.
      */
-    public List<Booking> getAllBookings() {
-        return bookingRepository.findAllBookings();
+    @Transactional(readOnly = true)
+    public BookingPageResponse getRecentBookings(String studentId, int limit) {
+        if (limit < 1 || limit > MAX_LIST_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIST_SIZE);
+        }
+        return page(null, null, studentId, null, null, null, limit);
     }
 
     /**
-     * Return bookings for a specific student.
+     * One page of booking history (most recent first) using keyset pagination on
+     * (date, startTime, id), so memory per request is bounded by {@code size} no matter
+     * how large the table grows.
      */
-    public List<Booking> getBookingsByStudentId(String studentId) {
-        return bookingRepository.findByStudentId(studentId);
+    @Transactional(readOnly = true)
+    public BookingPageResponse getBookingPage(String status, Integer facilityId, String studentId,
+                                              LocalDate from, LocalDate to, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return page(status, facilityId, studentId, from, to, cursor, size);
     }
 
+    private BookingPageResponse page(String status, Integer facilityId, String studentId,
+                                     LocalDate from, LocalDate to, String cursor, int size) {
+        String[] position = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+        String student = studentId == null || studentId.isBlank() ? null : studentId;
+
+        // Fetch one extra row to learn whether another page follows
+        List<BookingResponse> rows = replicaReads.read(() -> bookingRepository.findPage(
+                status == null || status.isBlank() ? null : status.toUpperCase(),
+                facilityId,
+                student,
+                from, to,
+                position == null ? null : LocalDate.parse(position[0]),
+                position == null ? null : LocalTime.parse(position[1]),
+                position == null ? null : Integer.valueOf(position[2]),
+                size + 1));
+
+        if (rows.size() <= size) {
+            return new BookingPageResponse(rows, null);
+        }
+        List<BookingResponse> page = rows.subList(0, size);
+        return new BookingPageResponse(page, encodeCursor(page.get(size - 1)));
+    }
+
+    @Transactional(readOnly = true)
     public Booking getBookingById(Integer id) {
-        return bookingRepository.findById(id)
+        return replicaReads.read(() -> bookingRepository.findWithFacilityById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id));
     }
 
-    @Transactional
+    /**
+     * Writers for the same facility/date are serialized by {@link BookingLockManager}, which is
+     * held until after commit, so the conflict check and the insert cannot interleave.
+     */
     public Booking createBooking(BookingRequest request) {
-        validateTimeRange(request.getStartTime(), request.getEndTime());
-        validateOperatingHours(request.getStartTime(), request.getEndTime());
+        return bookingMetrics.recordWrite("create", () -> {
+            validateTimeRange(request.getStartTime(), request.getEndTime());
+            validateOperatingHours(request.getStartTime(), request.getEndTime());
 
-        Facility facility = facilityRepository.findById(request.getFacilityId())
-                .orElseThrow(() -> new ResourceNotFoundException("Facility not found with id: " + request.getFacilityId()));
+            Booking booking = bookingLocks.withLock(request.getFacilityId(), request.getDate(),
+                    () -> transactionTemplate.execute(status -> doCreateBooking(request)));
+            replicaReads.recordWrite();
+            return booking;
+        });
+    }
 
-        // Check for booking conflicts
-        List<Booking> conflicts = bookingRepository.findConflictingBookings(
-                request.getFacilityId(),
-                request.getDate(),
-                request.getStartTime(),
-                request.getEndTime()
-        );
+    private Booking doCreateBooking(BookingRequest request) {
+        bookingLocks.acquireDatabaseLocks(List.of(
+                new BookingLockManager.Key(request.getFacilityId(), request.getDate())));
+
+        // Cheap in-memory rejection of obvious conflicts before going to the database
+        if (!bookingLocks.isDistributed() && bookingMetrics.recordConflictCheck("index",
+                () -> calendarIndex.hasConflict(request.getFacilityId(),
+                        request.getDate(), request.getStartTime(), request.getEndTime(), null))) {
+            throw conflict();
+        }
 
-        if (!conflicts.isEmpty()) {
-            throw new BookingConflictException(
-                    "The requested time slot conflicts with an existing booking for this facility"
-            );
+        // Conditional insert: one statement that checks for overlaps, inserts and returns the row
+        BookingRepository.InsertedBooking inserted;
+        try {
+            inserted = bookingRepository.insertIfFree(bookingIds.next(), request.getFacilityId(),
+                    request.getStudentId(), request.getDate(), request.getStartTime(), request.getEndTime(),
+                    request.getNotes())
+                    .orElseThrow(this::conflict);
+        } catch (DataIntegrityViolationException e) {
+            if (FOREIGN_KEY_VIOLATION.equals(sqlState(e))) {
+                throw new ResourceNotFoundException("Facility not found with id: " + request.getFacilityId());
+            }
+            throw e;
         }
 
+        Facility facility = new Facility(inserted.getFacilityId(), inserted.getFacilityName(),
+                inserted.getFacilityLocation(), inserted.getFacilityCapacity(), inserted.getFacilityType());
+
         Booking booking = new Booking();
+        booking.setId(inserted.getId());
         booking.setFacility(facility);
         booking.setStudentId(request.getStudentId());
         booking.setDate(request.getDate());
@@ -77,35 +170,132 @@ public class BookingService {
         booking.setStatus("CONFIRMED");
         booking.setNotes(request.getNotes());
 
-        return bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.created(booking));
+        return booking;
+    }
+
+    /**
+     * Expand a recurrence rule and book every occurrence. All occurrences are checked against
+     * one range query of the facility's CONFIRMED bookings, and the new rows are written with
+     * JDBC batch inserts.
+     */
+    public BookingSeriesResponse createSeries(BookingSeriesRequest request) {
+        return bookingMetrics.recordWrite("series", () -> {
+            validateTimeRange(request.getStartTime(), request.getEndTime());
+            validateOperatingHours(request.getStartTime(), request.getEndTime());
+
+            List<LocalDate> dates = expandSeries(request);
+            List<BookingLockManager.Key> keys = new ArrayList<>(dates.size());
+            for (LocalDate date : dates) {
+                keys.add(new BookingLockManager.Key(request.getFacilityId(), date));
+            }
+
+            BookingSeriesResponse series = bookingLocks.withLocks(keys,
+                    () -> transactionTemplate.execute(status -> doCreateSeries(request, dates, keys)));
+            replicaReads.recordWrite();
+            return series;
+        });
+    }
+
+    private BookingSeriesResponse doCreateSeries(BookingSeriesRequest request, List<LocalDate> dates,
+                                                 List<BookingLockManager.Key> keys) {
+        bookingLocks.acquireDatabaseLocks(keys);
+
+        Facility facility = facilityCatalog.find(request.getFacilityId())
+                .orElseThrow(() -> new ResourceNotFoundException("Facility not found with id: " + request.getFacilityId()));
+
+        Map<LocalDate, List<BookingInterval>> existing = new HashMap<>();
+        for (BookingInterval interval : bookingRepository.findConfirmedIntervals(
+                List.of(request.getFacilityId()), dates.get(0), dates.get(dates.size() - 1))) {
+            existing.computeIfAbsent(interval.date(), d -> new ArrayList<>()).add(interval);
+        }
+
+        List<BookingSeriesResponse.Occurrence> occurrences = new ArrayList<>(dates.size());
+        List<Booking> toCreate = new ArrayList<>(dates.size());
+        int conflicts = 0;
+        for (LocalDate date : dates) {
+            boolean taken = existing.getOrDefault(date, List.of()).stream().anyMatch(b ->
+                    b.startTime().isBefore(request.getEndTime()) && b.endTime().isAfter(request.getStartTime()));
+            if (taken) {
+                conflicts++;
+                occurrences.add(new BookingSeriesResponse.Occurrence(date, BookingSeriesResponse.Outcome.CONFLICT, null));
+                continue;
+            }
+
+            Booking booking = new Booking();
+            booking.setFacility(facility);
+            booking.setStudentId(request.getStudentId());
+            booking.setDate(date);
+            booking.setStartTime(request.getStartTime());
+            booking.setEndTime(request.getEndTime());
+            booking.setStatus("CONFIRMED");
+            booking.setNotes(request.getNotes());
+            toCreate.add(booking);
+            occurrences.add(new BookingSeriesResponse.Occurrence(date, BookingSeriesResponse.Outcome.CREATED, null));
+        }
+
+        if (conflicts > 0 && request.getMode() == BookingSeriesRequest.Mode.ALL_OR_NOTHING) {
+            for (BookingSeriesResponse.Occurrence occurrence : occurrences) {
+                if (occurrence.getOutcome() == BookingSeriesResponse.Outcome.CREATED) {
+                    occurrence.setOutcome(BookingSeriesResponse.Outcome.SKIPPED);
+                }
+            }
+            return new BookingSeriesResponse(request.getMode(), dates.size(), 0, conflicts, occurrences);
+        }
+
+        List<Booking> saved;
+        try {
+            // Batched: ids come from the pooled sequence, rows go out hibernate.jdbc.batch_size at a time
+            saved = bookingRepository.saveAllAndFlush(toCreate);
+        } catch (DataIntegrityViolationException e) {
+            if (EXCLUSION_VIOLATION.equals(sqlState(e))) {
+                throw conflict();
+            }
+            throw e;
+        }
+
+        Map<LocalDate, Integer> idByDate = new HashMap<>();
+        for (Booking booking : saved) {
+            idByDate.put(booking.getDate(), booking.getId());
+            eventPublisher.publishEvent(BookingChangedEvent.created(booking));
+        }
+        for (BookingSeriesResponse.Occurrence occurrence : occurrences) {
+            occurrence.setBookingId(idByDate.get(occurrence.getDate()));
+        }
+        return new BookingSeriesResponse(request.getMode(), dates.size(), saved.size(), conflicts, occurrences);
     }
 
-    @Transactional
     public Booking updateBooking(Integer id, BookingRequest request) {
-        validateTimeRange(request.getStartTime(), request.getEndTime());
-        validateOperatingHours(request.getStartTime(), request.getEndTime());
+        return bookingMetrics.recordWrite("update", () -> {
+            validateTimeRange(request.getStartTime(), request.getEndTime());
+            validateOperatingHours(request.getStartTime(), request.getEndTime());
+
+            // Only the target facility/date can gain a conflict, so that is the key to lock
+            Booking booking = bookingLocks.withLock(request.getFacilityId(), request.getDate(),
+                    () -> transactionTemplate.execute(status -> doUpdateBooking(id, request)));
+            replicaReads.recordWrite();
+            return booking;
+        });
+    }
+
+    private Booking doUpdateBooking(Integer id, BookingRequest request) {
+        bookingLocks.acquireDatabaseLocks(List.of(
+                new BookingLockManager.Key(request.getFacilityId(), request.getDate())));
 
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id));
 
-        Facility facility = facilityRepository.findById(request.getFacilityId())
+        // Catalog copy: the association only needs its id for the foreign key
+        Facility facility = facilityCatalog.find(request.getFacilityId())
                 .orElseThrow(() -> new ResourceNotFoundException("Facility not found with id: " + request.getFacilityId()));
 
         // Check for conflicts, excluding the current booking
-        List<Booking> conflicts = bookingRepository.findConflictingBookingsExcluding(
-                request.getFacilityId(),
-                request.getDate(),
-                request.getStartTime(),
-                request.getEndTime(),
-                id
-        );
-
-        if (!conflicts.isEmpty()) {
-            throw new BookingConflictException(
-                    "The requested time slot conflicts with an existing booking for this facility"
-            );
+        if (hasConflict(request.getFacilityId(), request.getDate(),
+                request.getStartTime(), request.getEndTime(), id)) {
+            throw conflict();
         }
 
+        BookingChangedEvent.Slot before = BookingChangedEvent.Slot.of(booking);
         booking.setFacility(facility);
         booking.setStudentId(request.getStudentId());
         booking.setDate(request.getDate());
@@ -118,16 +308,31 @@ public class BookingService {
             booking.setStatus(request.getStatus().toUpperCase());
         }
 
-        return bookingRepository.save(booking);
+        Booking saved;
+        try {
+            // Flush now so the no-overlap constraint is checked here rather than at commit
+            saved = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (EXCLUSION_VIOLATION.equals(sqlState(e))) {
+                throw conflict();
+            }
+            throw e;
+        }
+        eventPublisher.publishEvent(BookingChangedEvent.updated(before, saved));
+        return saved;
     }
 
     @Transactional
     public Booking cancelBooking(Integer id) {
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findWithFacilityById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id));
 
+        BookingChangedEvent.Slot before = BookingChangedEvent.Slot.of(booking);
         booking.setStatus("CANCELLED");
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.updated(before, saved));
+        replicaReads.recordWrite();
+        return saved;
     }
 
     @Transactional
@@ -135,20 +340,147 @@ public class BookingService {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id));
         bookingRepository.delete(booking);
+        replicaReads.recordWrite();
+        eventPublisher.publishEvent(BookingChangedEvent.deleted(BookingChangedEvent.Slot.of(booking)));
     }
 
+    @Transactional(readOnly = true)
     public boolean checkAvailability(Integer facilityId, LocalDate date, LocalTime startTime, LocalTime endTime) {
         validateTimeRange(startTime, endTime);
 
         // Verify the facility exists
-        facilityRepository.findById(facilityId)
-                .orElseThrow(() -> new ResourceNotFoundException("Facility not found with id: " + facilityId));
+        requireFacility(facilityId);
+
+        if (!isOccupancyIndexed()) {
+            return replicaReads.read(() ->
+                    bookingRepository.findConflictingBookings(facilityId, date, startTime, endTime).isEmpty());
+        }
+        return !calendarIndex.hasConflict(facilityId, date, startTime, endTime, null);
+    }
+
+    /**
+     * Occupancy bitmap of the 30-minute slot grid for a facility and date (see {@link SlotGrid}).
+     * Served from the calendar index, which loads the day's CONFIRMED bookings once, unless
+     * {@link #isOccupancyIndexed()} is false.
+     */
+    @Transactional(readOnly = true)
+    public long getSlotOccupancy(Integer facilityId, LocalDate date) {
+        // Verify the facility exists
+        requireFacility(facilityId);
+
+        if (!isOccupancyIndexed()) {
+            return replicaReads.read(() -> {
+                long occupancy = 0L;
+                for (BookingInterval interval : bookingRepository.findConfirmedIntervals(List.of(facilityId), date, date)) {
+                    occupancy |= SlotGrid.mask(interval.startTime(), interval.endTime());
+                }
+                return occupancy;
+            });
+        }
+        return calendarIndex.occupancy(facilityId, date);
+    }
+
+    /**
+     * Whether availability reads come from this node's calendar index. With several nodes
+     * (distributed lock mode) other nodes' writes never reach the index or
+     * {@link AvailabilityVersions}, so availability is read from the database instead.
+     */
+    public boolean isOccupancyIndexed() {
+        return !bookingLocks.isDistributed();
+    }
+
+    private void requireFacility(Integer facilityId) {
+        if (!facilityCatalog.exists(facilityId)) {
+            throw new ResourceNotFoundException("Facility not found with id: " + facilityId);
+        }
+    }
 
-        List<Booking> conflicts = bookingRepository.findConflictingBookings(
-                facilityId, date, startTime, endTime
+    /**
+     * Conflict check for writers holding the facility/date lock. The calendar index is only
+     * authoritative for writes made through this node; with several nodes (distributed lock
+     * mode) the check goes to the database under the advisory lock instead.
+     */
+    private boolean hasConflict(Integer facilityId, LocalDate date,
+                                LocalTime startTime, LocalTime endTime, Integer excludeId) {
+        if (!bookingLocks.isDistributed()) {
+            return bookingMetrics.recordConflictCheck("index",
+                    () -> calendarIndex.hasConflict(facilityId, date, startTime, endTime, excludeId));
+        }
+        return bookingMetrics.recordConflictCheck("database", () -> !(excludeId == null
+                ? bookingRepository.findConflictingBookings(facilityId, date, startTime, endTime)
+                : bookingRepository.findConflictingBookingsExcluding(facilityId, date, startTime, endTime, excludeId))
+                .isEmpty());
+    }
+
+    /**
+     * Dates of a recurring series, in order.
+     */
+    private List<LocalDate> expandSeries(BookingSeriesRequest request) {
+        LocalDate start = request.getStartDate();
+        LocalDate end = request.getEndDate();
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+
+        Set<DayOfWeek> weekdays = request.getDaysOfWeek() == null || request.getDaysOfWeek().isEmpty()
+                ? EnumSet.of(start.getDayOfWeek())
+                : EnumSet.copyOf(request.getDaysOfWeek());
+        LocalDate firstMonday = start.with(DayOfWeek.MONDAY);
+
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            boolean included = request.getFrequency() == BookingSeriesRequest.Frequency.DAILY
+                    ? ChronoUnit.DAYS.between(start, date) % request.getInterval() == 0
+                    : weekdays.contains(date.getDayOfWeek())
+                      && ChronoUnit.WEEKS.between(firstMonday, date.with(DayOfWeek.MONDAY)) % request.getInterval() == 0;
+            if (included) {
+                dates.add(date);
+                if (dates.size() > MAX_SERIES_OCCURRENCES) {
+                    throw new IllegalArgumentException(
+                            "A series cannot have more than " + MAX_SERIES_OCCURRENCES + " occurrences");
+                }
+            }
+        }
+        if (dates.isEmpty()) {
+            throw new IllegalArgumentException("The recurrence rule does not produce any dates");
+        }
+        return dates;
+    }
+
+    private static String encodeCursor(BookingResponse last) {
+        String position = last.getDate() + "|" + last.getStartTime() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            // Validate eagerly so a tampered cursor is a 400, not a 500
+            LocalDate.parse(position[0]);
+            LocalTime.parse(position[1]);
+            Integer.parseInt(position[2]);
+            return position;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private BookingConflictException conflict() {
+        return new BookingConflictException(
+                "The requested time slot conflicts with an existing booking for this facility"
         );
+    }
 
-        return conflicts.isEmpty();
+    private static String sqlState(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                return sqlException.getSQLState();
+            }
+        }
+        return null;
     }
 
     private void validateTimeRange(LocalTime startTime, LocalTime endTime) {
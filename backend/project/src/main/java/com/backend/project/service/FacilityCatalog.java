@@ -0,0 +1,143 @@
+package com.backend.project.service;
+
+import com.backend.project.model.Facility;
+import com.backend.project.repository.FacilityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory facility catalog. Facilities change a few times a semester but are read on
+ * nearly every booking and availability request.
+ *
+ * Readers see an immutable {@link Snapshot} through a single volatile read. The snapshot is
+ * loaded on first use and rebuilt after every change made through {@link FacilityService}.
+ * A periodic reload picks up changes made by other nodes. Each snapshot also holds the
+ * pre-serialized JSON of the full list and its ETag, so {@code GET /api/facilities} does no
+ * per-request work.
+ */
+@Component
+public class FacilityCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(FacilityCatalog.class);
+
+    private final FacilityRepository facilityRepository;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public FacilityCatalog(FacilityRepository facilityRepository, ObjectMapper objectMapper) {
+        this.facilityRepository = facilityRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Current snapshot, loading it on first use.
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        reloadLock.lock();
+        try {
+            if (snapshot == null) {
+                snapshot = load();
+            }
+            return snapshot;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * All facilities ordered by id. The instances are shared and must not be modified.
+     */
+    public List<Facility> all() {
+        return snapshot().facilities();
+    }
+
+    /**
+     * A copy of the facility, safe to attach to a booking or hand to a caller. A miss falls
+     * back to the database, so a facility just created on another node is found at the cost
+     * of one primary-key lookup (which also triggers a reload).
+     */
+    public Optional<Facility> find(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Facility facility = snapshot().byId().get(id);
+        if (facility != null) {
+            return Optional.of(copyOf(facility));
+        }
+        Optional<Facility> fromDb = facilityRepository.findById(id);
+        fromDb.ifPresent(f -> reload());
+        return fromDb;
+    }
+
+    public boolean exists(Integer id) {
+        return find(id).isPresent();
+    }
+
+    /**
+     * Rebuild the snapshot from the database and swap it in. Call after a facility change
+     * has been committed.
+     */
+    @Scheduled(fixedDelayString = "${facility.catalog.refresh-ms:60000}",
+               initialDelayString = "${facility.catalog.refresh-ms:60000}")
+    public void reload() {
+        reloadLock.lock();
+        try {
+            snapshot = load();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        List<Facility> facilities = new ArrayList<>(facilityRepository.findAll());
+        facilities.sort(Comparator.comparing(Facility::getId));
+
+        Map<Integer, Facility> byId = new HashMap<>(facilities.size() * 2);
+        for (Facility facility : facilities) {
+            byId.put(facility.getId(), facility);
+        }
+
+        byte[] json = objectMapper.writeValueAsBytes(facilities);
+        logger.debug("Facility catalog loaded: {} facilities", facilities.size());
+        return new Snapshot(List.copyOf(facilities), Map.copyOf(byId), json, etagOf(json));
+    }
+
+    private static String etagOf(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            // Strong validator: the bytes are identical whenever the tag is
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Facility copyOf(Facility facility) {
+        return new Facility(facility.getId(), facility.getName(), facility.getLocation(),
+                facility.getCapacity(), facility.getType());
+    }
+
+    public record Snapshot(List<Facility> facilities, Map<Integer, Facility> byId, byte[] json, String etag) {
+    }
+}
@@ -13,22 +13,33 @@ import java.util.List;
 public class FacilityService {
 
     private final FacilityRepository facilityRepository;
+    private final FacilityCatalog facilityCatalog;
 
     public List<Facility> getAllFacilities() {
-        return facilityRepository.findAll();
+        return facilityCatalog.all();
+    }
+
+    /**
+     * Current catalog snapshot, including the pre-serialized list and its ETag.
+     */
+    public FacilityCatalog.Snapshot getCatalog() {
+        return facilityCatalog.snapshot();
     }
 
     public Facility getFacilityById(Integer id) {
-        return facilityRepository.findById(id)
+        return facilityCatalog.find(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Facility not found with id: " + id));
     }
 
     public Facility createFacility(Facility facility) {
-        return facilityRepository.save(facility);
+        Facility saved = facilityRepository.save(facility);
+        facilityCatalog.reload();
+        return saved;
     }
 
     public Facility updateFacility(Integer id, Facility facilityDetails) {
-        Facility facility = getFacilityById(id);
+        Facility facility = facilityRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Facility not found with id: " + id));
         facility.setName(facilityDetails.getName());
         facility.setLocation(facilityDetails.getLocation());
         facility.setCapacity(facilityDetails.getCapacity());
@@ -36,11 +47,15 @@ public class FacilityService {
         if (facilityDetails.getType() != null) {
             facility.setType(facilityDetails.getType());
         }
-        return facilityRepository.save(facility);
+        Facility saved = facilityRepository.save(facility);
+        facilityCatalog.reload();
+        return saved;
     }
 
     public void deleteFacility(Integer id) {
-        Facility facility = getFacilityById(id);
+        Facility facility = facilityRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Facility not found with id: " + id));
         facilityRepository.delete(facility);
+        facilityCatalog.reload();
     }
 }
@@ -0,0 +1,47 @@
+package com.backend.project.service;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/**
+ * Claims of a token whose signature and expiry have already been verified. Produced once
+ * per token by {@link JwtService#verify(String)} so callers never re-parse.
+ */
+public record JwtClaims(String tokenId, String subject, String username, String email, String role,
+                        Integer userId, Instant issuedAt, Instant expiresAt) {
+
+    /**
+     * @param digest SHA-256 digest of the raw token, used as the id of tokens issued without a jti
+     *               (only needed, and only computed, for those)
+     */
+    static JwtClaims of(Claims claims, String digest) {
+        return new JwtClaims(
+                claims.getId() != null ? claims.getId() : digest,
+                claims.getSubject(),
+                resolveUsername(claims),
+                claims.get("email", String.class),
+                claims.get("role", String.class),
+                claims.get("userId", Integer.class),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt == null || !expiresAt.isAfter(now);
+    }
+
+    // Same precedence JwtService has always used: username, email, name, then subject
+    private static String resolveUsername(Claims claims) {
+        if (claims.get("username") != null) {
+            return claims.get("username", String.class);
+        }
+        if (claims.get("email") != null) {
+            return claims.get("email", String.class);
+        }
+        if (claims.get("name") != null) {
+            return claims.get("name", String.class);
+        }
+        return claims.getSubject();
+    }
+}
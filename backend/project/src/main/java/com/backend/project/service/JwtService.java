@@ -2,6 +2,9 @@ package com.backend.project.service;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,11 +16,17 @@ import org.springframework.stereotype.Service;
 import com.backend.project.model.User;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Service
@@ -28,18 +37,37 @@ public class JwtService {
     private String secretKey; // 256-bit key
     private static final long EXPIRATION_MS = 3600000L; // 1 hour
 
-//    private final Key signingKey;
+    @Value("${security.jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
 
-    private final Set<String> blacklistedTokens = ConcurrentHashMap.newKeySet();
+    // Built once at startup — decoding the key and building a parser per call is wasted work
+    private SecretKey signingKey;
+    private JwtParser parser;
 
-    public JwtService() {
-        // Key initialization deferred to getKey() using @Value-injected secretKey
+    private final TokenRevocationStore revocationStore;
+    private final MeterRegistry meterRegistry;
+
+    // Bounded cache of recently verified tokens, keyed by their signature segment. A hit skips
+    // Base64/JSON decoding and the HMAC check until the token expires. Lookups are lock-free;
+    // a hit still compares the whole token, so a forged header or payload never matches.
+    private final ConcurrentHashMap<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    public JwtService(TokenRevocationStore revocationStore, MeterRegistry meterRegistry) {
+        // Key initialization deferred to init() using @Value-injected secretKey
+        this.revocationStore = revocationStore;
+        this.meterRegistry = meterRegistry;
     }
 
-    private SecretKey getKey() {
+    @PostConstruct
+    void init() {
         // Decode the Base64 string to get the raw key bytes
         byte[] keyBytes = Base64.getDecoder().decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        signingKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
+    private SecretKey getKey() {
+        return signingKey;
     }
 
 
@@ -61,6 +89,7 @@ public class JwtService {
         // Instead of using the deprecated methods, use the claims() builder
         String token = Jwts.builder()
                 .claims()
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiry)
@@ -75,124 +104,101 @@ public class JwtService {
         logger.debug("Generated JWT token: {}", token);
         return token;
     }
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        if (blacklistedTokens.contains(token)) {
-            return false;
+
+    /**
+     * Verify signature and expiry of a token and return its claims — parsed at most once per
+     * token while it stays in the verified-token cache. Empty if the token is invalid or expired.
+     */
+    public Optional<JwtClaims> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Instant now = Instant.now();
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+
+        VerifiedToken cached = verifiedTokens.get(signature);
+        if (cached != null && cached.token().equals(token)) {
+            if (!cached.claims().isExpired(now)) {
+                return recordVerify(sample, "cached", Optional.of(cached.claims()));
+            }
+            verifiedTokens.remove(signature, cached);
+            return recordVerify(sample, "rejected", Optional.empty());
         }
-        logger.info("Checking if token is valid for user: {}", userDetails.getUsername());
-        final String tokenSubject = extractSubject(token);
-        logger.debug("Extracted subject from token: {}", tokenSubject);
-        boolean isValid = (tokenSubject != null && tokenSubject.equals(userDetails.getUsername()) && !isTokenExpired(token));
-        logger.debug("Token validity: {}", isValid);
-        return isValid;
-    }
 
-    public String extractUsername(String token) {
-        logger.info("Extracting username from token...");
         try {
-            Claims claims = extractAllClaims(token);
-            String username;
-            if (claims.get("username") != null) {
-                username = claims.get("username", String.class);
-                logger.debug("Found username in 'username' claim: {}", username);
-            } else if (claims.get("email") != null) {
-                username = claims.get("email", String.class);
-                logger.debug("Found username in 'email' claim: {}", username);
-            } else if (claims.get("name") != null) {
-                username = claims.get("name", String.class);
-                logger.debug("Found username in 'name' claim: {}", username);
-            } else {
-                username = claims.getSubject(); // fallback
-                logger.debug("Found username in 'subject' claim: {}", username);
+            Claims parsed = extractAllClaims(token);
+            // Tokens without a jti are revoked by digest; only they pay for hashing
+            JwtClaims claims = JwtClaims.of(parsed, parsed.getId() != null ? null : digest(token));
+            if (claims.isExpired(now)) {
+                return recordVerify(sample, "rejected", Optional.empty());
             }
-            logger.info("Extracted username: {}", username);
-            return username;
+            putVerified(signature, new VerifiedToken(token, claims), now);
+            return recordVerify(sample, "verified", Optional.of(claims));
         } catch (JwtException e) {
-            logger.error("JWT Exception: {}", e.getMessage());
-            return null;
+            logger.debug("JWT rejected: {}", e.getMessage());
+            return recordVerify(sample, "rejected", Optional.empty());
         } catch (IllegalArgumentException e) {
-            logger.error("Illegal Argument Exception: {}", e.getMessage());
-            return null;
+            logger.debug("Illegal Argument Exception: {}", e.getMessage());
+            return recordVerify(sample, "rejected", Optional.empty());
         }
     }
 
-    public String extractSubject(String token) {
-        logger.debug("Extracting subject from token...");
-        try {
-            Claims claims = extractAllClaims(token);
-            String subject = claims.getSubject();
-            logger.debug("Extracted subject: {}", subject);
-            return subject;
-        } catch (JwtException e) {
-            logger.error("JWT Exception: {}", e.getMessage());
-            return null;
-        } catch (IllegalArgumentException e) {
-            logger.error("Illegal Argument Exception: {}", e.getMessage());
-            return null;
+    /**
+     * {@code auth.jwt.verify}: cached = cache hit, verified = full signature check, rejected = invalid/expired.
+     */
+    private Optional<JwtClaims> recordVerify(Timer.Sample sample, String result, Optional<JwtClaims> claims) {
+        sample.stop(Timer.builder("auth.jwt.verify")
+                .description("JWT verification latency")
+                .tag("result", result)
+                .register(meterRegistry));
+        return claims;
+    }
+
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        if (isTokenBlacklisted(token)) {
+            return false;
         }
+        logger.debug("Checking if token is valid for user: {}", userDetails.getUsername());
+        return verify(token)
+                .map(claims -> claims.subject() != null && claims.subject().equals(userDetails.getUsername()))
+                .orElse(false);
+    }
+
+    public String extractUsername(String token) {
+        return verify(token).map(JwtClaims::username).orElse(null);
+    }
+
+    public String extractSubject(String token) {
+        return verify(token).map(JwtClaims::subject).orElse(null);
     }
 
     public String extractEmailFromToken(String token) {
-        logger.debug("Extracting email from token...");
-        try {
-            Claims claims = extractAllClaims(token);
-            String email = claims.get("email", String.class);
-            logger.debug("Extracted email: {}", email);
-            return email;
-        } catch (JwtException e) {
-            logger.error("JWT Exception: {}", e.getMessage());
-            return null;
-        } catch (IllegalArgumentException e) {
-            logger.error("Illegal Argument Exception: {}", e.getMessage());
-            return null;
-        }
+        return verify(token).map(JwtClaims::email).orElse(null);
     }
 
     public String extractRole(String token) {
-        logger.debug("Extracting role from token...");
-        try {
-            Claims claims = extractAllClaims(token);
-            String role = claims.get("role", String.class);
-            logger.debug("Extracted role: {}", role);
-            return role;
-        } catch (JwtException e) {
-            logger.error("JWT Exception: {}", e.getMessage());
-            return null;
-        } catch (IllegalArgumentException e) {
-            logger.error("Illegal Argument Exception: {}", e.getMessage());
-            return null;
-        }
+        return verify(token).map(JwtClaims::role).orElse(null);
     }
 
     public List<GrantedAuthority> extractAuthorities(String token) {
-        logger.info("Extracting authorities from token...");
+        return verify(token).map(this::authoritiesOf).orElseGet(ArrayList::new);
+    }
+
+    public List<GrantedAuthority> authoritiesOf(JwtClaims claims) {
         List<GrantedAuthority> authorities = new ArrayList<>();
-        try {
-            Claims claims = extractAllClaims(token);
-            if (claims.get("role") != null) {
-                String role = claims.get("role", String.class);
-                authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
-                logger.debug("Extracted role from token: {}", role);
-            }
-        } catch (JwtException e) {
-            logger.error("JWT Exception: {}", e.getMessage());
-        } catch (IllegalArgumentException e) {
-            logger.error("Illegal Argument Exception: {}", e.getMessage());
+        if (claims.role() != null) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + claims.role()));
         }
-        logger.debug("Extracted authorities: {}", authorities);
         return authorities;
     }
 
     private Claims extractAllClaims(String token) {
-        logger.debug("Extracting all claims from token. Token: {}", token);
+        logger.debug("Extracting all claims from token");
         try {
-            return Jwts.parser()
-                    .verifyWith(getKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
-            logger.error("Token expired: {}", e.getMessage());
+            logger.debug("Token expired: {}", e.getMessage());
             throw e;
         } catch (MalformedJwtException e) {
             logger.error("Malformed token: {}", e.getMessage());
@@ -203,28 +209,54 @@ public class JwtService {
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        logger.info("Checking if token is expired...");
+    private void putVerified(String signature, VerifiedToken verified, Instant now) {
+        if (verifiedCacheSize <= 0) {
+            return;
+        }
+        if (verifiedTokens.size() >= verifiedCacheSize) {
+            trimVerified(now);
+        }
+        verifiedTokens.put(signature, verified);
+    }
+
+    /**
+     * Drop expired tokens; if still full, drop arbitrary ones — they are re-verified on next use.
+     */
+    private void trimVerified(Instant now) {
+        verifiedTokens.values().removeIf(verified -> verified.claims().isExpired(now));
+
+        Iterator<String> it = verifiedTokens.keySet().iterator();
+        while (verifiedTokens.size() >= verifiedCacheSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static String digest(String token) {
         try {
-            Claims claims = extractAllClaims(token);
-            Date expiration = claims.getExpiration();
-            logger.debug("Token expiration time: {}", expiration);
-            boolean isExpired = expiration.before(new Date());
-            logger.debug("Token expired: {}", isExpired);
-            return isExpired;
-        } catch (JwtException e) {
-            logger.error("JWT Exception: {}", e.getMessage());
-            return true; // assume expired if any parsing issue
-        } catch (IllegalArgumentException e) {
-            logger.error("Illegal Argument Exception: {}", e.getMessage());
-            return true;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE ships SHA-256
+            throw new IllegalStateException(e);
         }
     }
 
+    private record VerifiedToken(String token, JwtClaims claims) {
+    }
+
     public boolean isTokenBlacklisted(String token) {
-        return blacklistedTokens.contains(token);
+        return verify(token).map(this::isRevoked).orElse(false);
+    }
+
+    public boolean isRevoked(JwtClaims claims) {
+        return revocationStore.isRevoked(claims.tokenId());
     }
+
+    /**
+     * Revoke a token until it expires. Invalid or already expired tokens need no entry.
+     */
     public void blacklistToken(String token) {
-        blacklistedTokens.add(token);
+        verify(token).ifPresent(claims -> revocationStore.revoke(claims.tokenId(), claims.expiresAt()));
     }
-}
\ No newline at end of file
+}
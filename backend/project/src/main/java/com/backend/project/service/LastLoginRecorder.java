@@ -0,0 +1,98 @@
+package com.backend.project.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for {@code users.last_login}.
+ *
+ * Logins only record the timestamp in memory; repeated logins of the same user between
+ * flushes collapse into one entry. A scheduled flush writes the buffer with one
+ * {@code UPDATE ... FROM (VALUES ...)} statement per chunk, and the buffer is flushed once
+ * more on shutdown. A failed flush puts its entries back for the next attempt.
+ */
+@Component
+public class LastLoginRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginRecorder.class);
+
+    // Keeps each statement well below the Postgres bind-parameter limit
+    private static final int CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<Integer, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public LastLoginRecorder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void record(Integer userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    @Scheduled(fixedDelayString = "${security.last-login.flush-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Map.Entry<Integer, LocalDateTime>> batch = new ArrayList<>(CHUNK_SIZE);
+            for (Integer userId : pending.keySet()) {
+                LocalDateTime loginTime = pending.remove(userId);
+                if (loginTime == null) {
+                    continue;
+                }
+                batch.add(Map.entry(userId, loginTime));
+                if (batch.size() == CHUNK_SIZE) {
+                    write(batch);
+                    batch = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(List<Map.Entry<Integer, LocalDateTime>> batch) {
+        StringBuilder sql = new StringBuilder("UPDATE users u SET last_login = v.last_login FROM (VALUES ");
+        Object[] args = new Object[batch.size() * 2];
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(CAST(? AS INTEGER), CAST(? AS TIMESTAMP))");
+            args[2 * i] = batch.get(i).getKey();
+            args[2 * i + 1] = Timestamp.valueOf(batch.get(i).getValue());
+        }
+        // Never move last_login backwards if another node flushed a later login first
+        sql.append(") AS v(id, last_login) WHERE u.id = v.id"
+                + " AND (u.last_login IS NULL OR u.last_login < v.last_login)");
+
+        try {
+            jdbcTemplate.update(sql.toString(), args);
+        } catch (RuntimeException e) {
+            logger.warn("Flushing {} last-login updates failed, will retry: {}", batch.size(), e.getMessage());
+            batch.forEach(entry -> record(entry.getKey(), entry.getValue()));
+        }
+    }
+}
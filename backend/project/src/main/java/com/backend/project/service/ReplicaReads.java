@@ -0,0 +1,263 @@
+package com.backend.project.service;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Decides which reads leave the write pool: interactive reads go to the read pool, reports and
+ * exports to the reporting pool. Both pools point at the replica when one is configured.
+ *
+ * A query leaves the write pool only when it runs inside {@link #read} or {@link #report}
+ * <em>and</em> in a read-only transaction (see {@code DataSourceRoutingConfig}). Everything
+ * else, including Spring Data's implicit read-only transactions, stays on the primary. This
+ * keeps the calendar index, the facility catalog and authentication lookups off the replica.
+ *
+ * Read-your-writes: the client carries its own write marker, so it works whichever node serves
+ * the next request. After a write commits, the primary's WAL position ({@code pg_current_wal_lsn()})
+ * is returned in the {@value #WRITE_MARKER_HEADER} header and the {@value #WRITE_MARKER_COOKIE}
+ * cookie. A read that sends either back is pinned to the primary until the replica has replayed
+ * that position ({@code pg_last_wal_replay_lsn()}), for at most
+ * {@code datasource.replica.read-your-writes-ms}.
+ */
+@Component
+public class ReplicaReads {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaReads.class);
+
+    public static final String WRITE_MARKER_HEADER = "X-Write-Lsn";
+    static final String WRITE_MARKER_COOKIE = "write-lsn";
+    // Marker of a write made earlier in the same request
+    private static final String WRITE_MARKER_ATTRIBUTE = ReplicaReads.class.getName() + ".writeMarker";
+
+    private static final long NO_MARKER = -1;
+    private static final String CURRENT_LSN = "SELECT pg_current_wal_lsn()::text";
+
+    private final boolean enabled;
+    private final int markerMaxAgeSeconds;
+    private final long replayCheckNanos;
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+
+    // Highest WAL position the replica is known to have replayed, and when it was last asked
+    private final ReentrantLock replayCheck = new ReentrantLock();
+    private volatile long replayedLsn = NO_MARKER;
+    private volatile long replayCheckedAt;
+
+    /**
+     * @param primary routed DataSource: inside a write transaction it is that transaction's connection
+     * @param readPool the read pool itself, so asking the replica never binds a connection to the
+     *                 caller's transaction
+     */
+    @Autowired
+    public ReplicaReads(@Value("${datasource.replica.enabled:false}") boolean enabled,
+                        @Value("${datasource.replica.read-your-writes-ms:30000}") long markerMaxAgeMs,
+                        @Value("${datasource.replica.replay-check-ms:100}") long replayCheckMs,
+                        DataSource primary,
+                        @Qualifier("readPool") DataSource readPool) {
+        this(enabled, markerMaxAgeMs, replayCheckMs, new JdbcTemplate(primary), new JdbcTemplate(readPool));
+    }
+
+    ReplicaReads(boolean enabled, long markerMaxAgeMs, long replayCheckMs, JdbcTemplate primary, JdbcTemplate replica) {
+        this.enabled = enabled;
+        this.markerMaxAgeSeconds = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(markerMaxAgeMs + 999));
+        this.replayCheckNanos = TimeUnit.MILLISECONDS.toNanos(replayCheckMs);
+        this.primary = primary;
+        this.replica = replica;
+        this.replayCheckedAt = System.nanoTime() - replayCheckNanos;
+    }
+
+    /**
+     * Runs {@code query} on the read pool, or on the primary write pool when a replica is in use
+     * and it has not yet replayed the client's last write.
+     */
+    public <T> T read(Supplier<T> query) {
+        if (Workload.isMarked() || (enabled && !replicaHasReplayed(clientMarker()))) {
+            return query.get();
+        }
+        return Workload.READ.run(query);
+    }
+
+    /**
+     * Runs {@code query} on the reporting pool. Reports are never pinned to the primary: with
+     * a replica they may trail the latest writes by the replication lag.
+     */
+    public <T> T report(Supplier<T> query) {
+        return Workload.REPORTING.run(query);
+    }
+
+    /**
+     * Waits, for at most {@code timeout}, until the replica has replayed everything committed
+     * on the primary so far; true at once without a replica. A report started afterwards sees
+     * every write that committed before the call.
+     */
+    public boolean awaitReplica(Duration timeout) {
+        if (!enabled) {
+            return true;
+        }
+        long target;
+        try {
+            target = parseLsn(primary.queryForObject(CURRENT_LSN, String.class));
+        } catch (DataAccessException e) {
+            logger.warn("Could not read the primary's WAL position: {}", e.getMessage());
+            return false;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long pause = Math.max(replayCheckNanos, TimeUnit.MILLISECONDS.toNanos(10));
+        while (!replicaHasReplayed(target)) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hands the client a marker of this write, once it has committed. Its next reads stay on the
+     * primary until the replica has caught up with it. No-op outside an HTTP request.
+     */
+    public void recordWrite() {
+        if (!enabled || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markWrite(attributes);
+                }
+            });
+        } else {
+            markWrite(attributes);
+        }
+    }
+
+    private void markWrite(ServletRequestAttributes attributes) {
+        long lsn;
+        try {
+            // Read after commit, so it is at or past the commit record
+            lsn = parseLsn(primary.queryForObject(CURRENT_LSN, String.class));
+        } catch (DataAccessException e) {
+            logger.warn("Could not read the primary's WAL position: {}", e.getMessage());
+            return;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        long marker = Math.max(lsn, clientMarker(request));
+        request.setAttribute(WRITE_MARKER_ATTRIBUTE, marker);
+
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            String value = formatLsn(marker);
+            response.setHeader(WRITE_MARKER_HEADER, value);
+            Cookie cookie = new Cookie(WRITE_MARKER_COOKIE, value);
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge(markerMaxAgeSeconds);
+            response.addCookie(cookie);
+        }
+    }
+
+    /**
+     * True if the replica has replayed {@code marker}, or there is none. Asks the replica at
+     * most once per {@code datasource.replica.replay-check-ms}. Meanwhile, and while another
+     * thread is asking, the last known position decides, so a pinned read errs towards the primary.
+     */
+    boolean replicaHasReplayed(long marker) {
+        if (marker == NO_MARKER || replayedLsn >= marker) {
+            return true;
+        }
+        if (System.nanoTime() - replayCheckedAt >= replayCheckNanos && replayCheck.tryLock()) {
+            try {
+                if (System.nanoTime() - replayCheckedAt >= replayCheckNanos) {
+                    replayedLsn = Math.max(replayedLsn, queryReplayedLsn());
+                    replayCheckedAt = System.nanoTime();
+                }
+            } finally {
+                replayCheck.unlock();
+            }
+        }
+        return replayedLsn >= marker;
+    }
+
+    private long queryReplayedLsn() {
+        try {
+            String lsn = replica.queryForObject("SELECT pg_last_wal_replay_lsn()::text", String.class);
+            // Null when the read pool's server is not a standby, e.g. the primary acting as its own replica
+            return lsn == null ? Long.MAX_VALUE : parseLsn(lsn);
+        } catch (DataAccessException e) {
+            logger.warn("Could not read the replica's replay position: {}", e.getMessage());
+            return replayedLsn;
+        }
+    }
+
+    /**
+     * The client's marker: from a write earlier in this request, else the header, else the cookie.
+     */
+    private static long clientMarker() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return clientMarker(attributes.getRequest());
+        }
+        return NO_MARKER;
+    }
+
+    private static long clientMarker(HttpServletRequest request) {
+        if (request.getAttribute(WRITE_MARKER_ATTRIBUTE) instanceof Long marker) {
+            return marker;
+        }
+        String value = request.getHeader(WRITE_MARKER_HEADER);
+        if (value == null && request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (WRITE_MARKER_COOKIE.equals(cookie.getName())) {
+                    value = cookie.getValue();
+                }
+            }
+        }
+        if (value == null) {
+            return NO_MARKER;
+        }
+        try {
+            return parseLsn(value);
+        } catch (IllegalArgumentException e) {
+            return NO_MARKER;
+        }
+    }
+
+    /**
+     * Postgres {@code pg_lsn} text ({@code 16/B374D848}) as a comparable number.
+     */
+    static long parseLsn(String lsn) {
+        int slash = lsn.indexOf('/');
+        if (slash <= 0 || slash == lsn.length() - 1) {
+            throw new IllegalArgumentException("Not a WAL position: " + lsn);
+        }
+        return (Long.parseLong(lsn.substring(0, slash), 16) << 32) | Long.parseLong(lsn.substring(slash + 1), 16);
+    }
+
+    static String formatLsn(long lsn) {
+        return Long.toHexString(lsn >>> 32).toUpperCase() + "/" + Long.toHexString(lsn & 0xFFFFFFFFL).toUpperCase();
+    }
+}
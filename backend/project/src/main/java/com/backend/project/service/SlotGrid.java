@@ -0,0 +1,62 @@
+package com.backend.project.service;
+
+import java.time.LocalTime;
+
+/**
+ * Fixed 30-minute slot grid over campus operating hours (06:00 – 19:00).
+ *
+ * A day's occupancy is encoded as a bitmap in a single {@code long}: bit {@code i}
+ * is set when slot {@code i} (starting at OPEN_TIME + i * 30 min) overlaps a
+ * CONFIRMED booking. 26 slots fit comfortably in 64 bits.
+ */
+public final class SlotGrid {
+
+    // Campus operating hours: 06:00 – 19:00
+    public static final LocalTime OPEN_TIME  = LocalTime.of(6, 0);
+    public static final LocalTime CLOSE_TIME = LocalTime.of(19, 0);
+
+    public static final int SLOT_MINUTES = 30;
+
+    private static final int SLOT_SECONDS = SLOT_MINUTES * 60;
+    private static final int OPEN_SECOND  = OPEN_TIME.toSecondOfDay();
+
+    public static final int SLOT_COUNT = (CLOSE_TIME.toSecondOfDay() - OPEN_SECOND) / SLOT_SECONDS;
+
+    /** Bitmap with every slot of the day set. */
+    public static final long FULL_DAY = (1L << SLOT_COUNT) - 1;
+
+    private SlotGrid() {
+    }
+
+    public static LocalTime slotStart(int slot) {
+        return OPEN_TIME.plusMinutes((long) slot * SLOT_MINUTES);
+    }
+
+    public static LocalTime slotEnd(int slot) {
+        return slotStart(slot + 1);
+    }
+
+    /**
+     * Bitmap of the slots overlapping [startTime, endTime). Parts of the interval
+     * outside operating hours are ignored.
+     */
+    public static long mask(LocalTime startTime, LocalTime endTime) {
+        int start = startTime.toSecondOfDay() - OPEN_SECOND;
+        int end   = endTime.toSecondOfDay() - OPEN_SECOND;
+
+        int first = Math.max(0, Math.floorDiv(start, SLOT_SECONDS));
+        int last  = Math.min(SLOT_COUNT, Math.floorDiv(end + SLOT_SECONDS - 1, SLOT_SECONDS));
+        if (first >= last) {
+            return 0L;
+        }
+        return (FULL_DAY >>> (SLOT_COUNT - (last - first))) << first;
+    }
+
+    public static boolean isBooked(long occupancy, int slot) {
+        return (occupancy & (1L << slot)) != 0;
+    }
+
+    public static String format(LocalTime time) {
+        return String.format("%02d:%02d", time.getHour(), time.getMinute());
+    }
+}
@@ -0,0 +1,126 @@
+package com.backend.project.service;
+
+import com.backend.project.model.RevokedToken;
+import com.backend.project.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked (logged-out) JWTs, keyed by token id, with expiry-aware eviction.
+ *
+ * Membership is a single ConcurrentHashMap lookup. Entries are also filed in a timing wheel of
+ * one-minute buckets spanning the token lifetime, so each tick only looks at the bucket whose
+ * tokens are due — nothing is scanned and nothing outlives its token. Every revocation is
+ * written to {@code revoked_tokens}, reloaded at startup and synced periodically, so logouts
+ * survive restarts and are seen by other nodes.
+ */
+@Component
+public class TokenRevocationStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationStore.class);
+
+    private static final long TICK_MS = 60_000L;
+    // 64 one-minute buckets cover the one-hour token lifetime with room to spare
+    private static final int WHEEL_SIZE = 64;
+    private static final long SYNC_OVERLAP_SECONDS = 10;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Set<String>[] wheel;
+    private long lastSweptTick;
+    private LocalDateTime lastSync;
+
+    @SuppressWarnings("unchecked")
+    public TokenRevocationStore(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.wheel = new Set[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+    }
+
+    @PostConstruct
+    void load() {
+        LocalDateTime now = utcNow();
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            remember(token.getTokenId(), token.getExpiresAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        lastSweptTick = System.currentTimeMillis() / TICK_MS - 1;
+        lastSync = now;
+        logger.info("Loaded {} active token revocations", revoked.size());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now())) {
+            return; // already unusable
+        }
+        remember(tokenId, expiresAt.toEpochMilli());
+        revokedTokenRepository.save(new RevokedToken(tokenId,
+                LocalDateTime.ofInstant(expiresAt, ZoneOffset.UTC), utcNow()));
+    }
+
+    /**
+     * Advance the wheel: evict every entry in the buckets of ticks that have fully elapsed.
+     */
+    @Scheduled(fixedRate = TICK_MS)
+    public void expire() {
+        long now = System.currentTimeMillis();
+        long dueTick = now / TICK_MS - 1;
+        long from = Math.max(lastSweptTick + 1, dueTick - WHEEL_SIZE + 1);
+        for (long t = from; t <= dueTick; t++) {
+            Set<String> bucket = wheel[(int) (t % WHEEL_SIZE)];
+            bucket.removeIf(tokenId -> {
+                Long expiresAt = revoked.get(tokenId);
+                if (expiresAt == null) {
+                    return true;
+                }
+                if (expiresAt <= now) {
+                    revoked.remove(tokenId, expiresAt);
+                    return true;
+                }
+                return false; // due in a later lap of the wheel
+            });
+        }
+        lastSweptTick = dueTick;
+    }
+
+    /**
+     * Pick up revocations made by other nodes and purge rows of expired tokens.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.sync-ms:30000}",
+               initialDelayString = "${security.revocation.sync-ms:30000}")
+    public void sync() {
+        LocalDateTime now = utcNow();
+        // Small overlap so clock skew between nodes cannot hide a revocation
+        LocalDateTime since = lastSync.minusSeconds(SYNC_OVERLAP_SECONDS);
+        for (RevokedToken token : revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(since, now)) {
+            remember(token.getTokenId(), token.getExpiresAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        lastSync = now;
+        revokedTokenRepository.deleteExpired(now);
+    }
+
+    private void remember(String tokenId, long expiresAtMs) {
+        revoked.put(tokenId, expiresAtMs);
+        wheel[(int) ((expiresAtMs / TICK_MS) % WHEEL_SIZE)].add(tokenId);
+    }
+
+    private static LocalDateTime utcNow() {
+        return LocalDateTime.now(ZoneOffset.UTC);
+    }
+}
@@ -1,9 +1,12 @@
 package com.backend.project.service;
 
+import com.backend.project.exception.ResourceNotFoundException;
 import com.backend.project.model.User;
 import com.backend.project.repository.UserRepository;
+import com.backend.project.security.UserDetailsCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,6 +17,12 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final ReplicaReads replicaReads;
+
+    // Login and registration checks stay on the primary: a user who just registered must be
+    // able to log in, and duplicate checks must see every committed account
 
     public Optional<User> getUserByUsername(String username) {
         return userRepository.findByUsername(username);
@@ -23,20 +32,59 @@ public class UserService {
         return userRepository.findByEmail(email);
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> getUserById(Integer id) {
-        return userRepository.findById(id);
+        return replicaReads.read(() -> userRepository.findById(id));
     }
 
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
-        return userRepository.findAll();
+        return replicaReads.read(userRepository::findAll);
     }
 
     public User createUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userDetailsCache.evict(saved.getUsername());
+        replicaReads.recordWrite();
+        return saved;
+    }
+
+    /**
+     * Activate or deactivate an account. The cached UserDetails are evicted, so the change
+     * applies to the user's next request on this node. Other nodes keep their cached copy
+     * for up to {@code security.user-cache.ttl-seconds}.
+     */
+    public User setActive(Integer id, boolean active) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        user.setIsActive(active);
+        User saved = userRepository.save(user);
+        userDetailsCache.evict(saved.getUsername());
+        replicaReads.recordWrite();
+        return saved;
+    }
+
+    /**
+     * Change a user's role, evicting their cached UserDetails (see {@link #setActive} for
+     * other nodes).
+     */
+    public User updateRole(Integer id, User.Role role) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        user.setRole(role);
+        User saved = userRepository.save(user);
+        userDetailsCache.evict(saved.getUsername());
+        replicaReads.recordWrite();
+        return saved;
     }
 
+    /**
+     * Record a successful login. The timestamp is written behind in batches by
+     * {@link LastLoginRecorder}, so the login request does not rewrite the user row.
+     */
     public void updateLastLogin(User user) {
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        LocalDateTime now = LocalDateTime.now();
+        user.setLastLogin(now);
+        lastLoginRecorder.record(user.getId(), now);
     }
 }
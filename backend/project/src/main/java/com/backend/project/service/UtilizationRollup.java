@@ -0,0 +1,290 @@
+package com.backend.project.service;
+
+import com.backend.project.event.BookingChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * CONFIRMED booked minutes and booking counts per facility per day, ISO week and month.
+ *
+ * The totals are built once from a single GROUP BY and then kept up to date by applying each
+ * {@link BookingChangedEvent} as a delta: the old slot is subtracted and the new one is added,
+ * in all three granularities. A query for F facilities over B buckets is therefore F × B map
+ * lookups, however many bookings there are.
+ *
+ * Only this node's writes produce events, so a periodic rebuild picks up writes made through
+ * other nodes. Events that arrive while a rebuild query runs may or may not be in its result.
+ * The facility-days they touch are re-read exactly afterwards, until none are left.
+ *
+ * The aggregate is a report: it runs on the reporting pool (the replica, if one is configured)
+ * under that pool's statement timeout, once the replica has replayed every write committed
+ * before the rebuild started. The exact re-reads are single-day lookups on the primary, which
+ * is the only place sure to have the writes that triggered them. The first build starts after
+ * the application is ready, on the reporting executor; until it completes, {@link #isLoaded()}
+ * is false and the analytics endpoint answers 503.
+ */
+@Component
+public class UtilizationRollup {
+
+    private static final Logger logger = LoggerFactory.getLogger(UtilizationRollup.class);
+
+    public enum Granularity {
+        DAY, WEEK, MONTH;
+
+        public LocalDate bucketStart(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+
+        public LocalDate nextBucket(LocalDate bucketStart) {
+            return switch (this) {
+                case DAY -> bucketStart.plusDays(1);
+                case WEEK -> bucketStart.plusWeeks(1);
+                case MONTH -> bucketStart.plusMonths(1);
+            };
+        }
+
+        public int days(LocalDate bucketStart) {
+            return (int) ChronoUnit.DAYS.between(bucketStart, nextBucket(bucketStart));
+        }
+    }
+
+    public record Usage(long minutes, long bookings) {
+
+        public static final Usage NONE = new Usage(0, 0);
+
+        Usage plus(Usage other) {
+            return new Usage(minutes + other.minutes, bookings + other.bookings);
+        }
+
+        Usage minus(Usage other) {
+            return new Usage(minutes - other.minutes, bookings - other.bookings);
+        }
+
+        boolean isEmpty() {
+            return minutes == 0 && bookings == 0;
+        }
+    }
+
+    private record Bucket(Integer facilityId, Granularity granularity, LocalDate start) {
+    }
+
+    private static final String SUM_ALL =
+            "SELECT facility_id, date, CAST(SUM(EXTRACT(EPOCH FROM (end_time - start_time))) / 60 AS BIGINT) AS minutes, "
+            + "COUNT(*) AS bookings FROM bookings WHERE status = 'CONFIRMED' GROUP BY facility_id, date";
+
+    private static final String SUM_DAY =
+            "SELECT facility_id, date, CAST(SUM(EXTRACT(EPOCH FROM (end_time - start_time))) / 60 AS BIGINT) AS minutes, "
+            + "COUNT(*) AS bookings FROM bookings WHERE status = 'CONFIRMED' AND facility_id = ? AND date = ? "
+            + "GROUP BY facility_id, date";
+
+    // How long a rebuild waits for the replica to catch up before aggregating anyway
+    private static final Duration REPLICA_WAIT = Duration.ofSeconds(60);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate rebuildTransaction;
+    private final ReplicaReads replicaReads;
+    private final Executor reportingExecutor;
+
+    private volatile ConcurrentHashMap<Bucket, Usage> buckets = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    // Serializes deltas against the swap and re-check steps of a rebuild
+    private final ReentrantLock lock = new ReentrantLock();
+    // One rebuild at a time: the startup build, the scheduled one and explicit calls
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private boolean rebuilding;
+    private final Set<BookingLockManager.Key> touchedDuringRebuild = new HashSet<>();
+
+    public UtilizationRollup(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             ReplicaReads replicaReads, @Qualifier("reportingExecutor") Executor reportingExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setReadOnly(true);
+        this.replicaReads = replicaReads;
+        this.reportingExecutor = reportingExecutor;
+    }
+
+    /**
+     * Whether the first build has completed; until then every total reads as zero.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public Usage usage(Integer facilityId, Granularity granularity, LocalDate bucketStart) {
+        return buckets.getOrDefault(new Bucket(facilityId, granularity, bucketStart), Usage.NONE);
+    }
+
+    // After the calendar index, versions and stream: nothing user-facing waits on the rollup
+    @Order(300)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        lock.lock();
+        try {
+            if (event.before() != null && event.before().isConfirmed()) {
+                applySlot(event.before(), -1);
+            }
+            if (event.after() != null && event.after().isConfirmed()) {
+                applySlot(event.after(), 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void loadAfterStartup() {
+        reportingExecutor.execute(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.utilization.rebuild-ms:3600000}",
+               initialDelayString = "${analytics.utilization.rebuild-ms:3600000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void doRebuild() {
+        lock.lock();
+        try {
+            rebuilding = true;
+            touchedDuringRebuild.clear();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            long started = System.currentTimeMillis();
+            // Writes committed from here on are in touchedDuringRebuild; earlier ones must be in the aggregate
+            if (!replicaReads.awaitReplica(REPLICA_WAIT)) {
+                logger.warn("Replica did not catch up within {}; the rollup may miss the latest writes "
+                        + "until the next rebuild", REPLICA_WAIT);
+            }
+            ConcurrentHashMap<Bucket, Usage> fresh = new ConcurrentHashMap<>();
+            List<DailyUsage> days = replicaReads.report(() -> query(SUM_ALL));
+            for (DailyUsage day : days) {
+                apply(fresh, day.facilityId(), day.date(), day.usage());
+            }
+
+            Set<BookingLockManager.Key> recheck;
+            lock.lock();
+            try {
+                buckets = fresh;
+                loaded = true;
+                recheck = drainTouched();
+            } finally {
+                lock.unlock();
+            }
+
+            // Facility-days changed while the query ran: replace them with exact totals
+            while (!recheck.isEmpty()) {
+                List<DailyUsage> exact = new ArrayList<>(recheck.size());
+                for (BookingLockManager.Key key : recheck) {
+                    List<DailyUsage> rows = query(SUM_DAY, key.facilityId(), key.date());
+                    exact.add(rows.isEmpty() ? new DailyUsage(key.facilityId(), key.date(), Usage.NONE) : rows.get(0));
+                }
+                lock.lock();
+                try {
+                    for (DailyUsage day : exact) {
+                        Usage current = buckets.getOrDefault(new Bucket(day.facilityId(), Granularity.DAY, day.date()), Usage.NONE);
+                        apply(buckets, day.facilityId(), day.date(), day.usage().minus(current));
+                    }
+                    recheck = drainTouched();
+                } finally {
+                    lock.unlock();
+                }
+            }
+            logger.info("Utilization rollup rebuilt from {} facility-days in {} ms",
+                    days.size(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            // Keep serving the previous totals; the next rebuild tries again
+            logger.warn("Utilization rollup rebuild failed", e);
+        } finally {
+            lock.lock();
+            try {
+                rebuilding = false;
+                touchedDuringRebuild.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * In a read-only transaction: on the reporting pool inside {@link ReplicaReads#report},
+     * otherwise on the primary.
+     */
+    private List<DailyUsage> query(String sql, Object... args) {
+        return rebuildTransaction.execute(status -> jdbcTemplate.query(sql, UtilizationRollup::mapRow, args));
+    }
+
+    private static DailyUsage mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new DailyUsage(rs.getInt("facility_id"), rs.getObject("date", LocalDate.class),
+                new Usage(rs.getLong("minutes"), rs.getLong("bookings")));
+    }
+
+    private void applySlot(BookingChangedEvent.Slot slot, int sign) {
+        long minutes = ChronoUnit.MINUTES.between(slot.startTime(), slot.endTime());
+        apply(buckets, slot.facilityId(), slot.date(), new Usage(sign * minutes, sign));
+        if (rebuilding) {
+            touchedDuringRebuild.add(new BookingLockManager.Key(slot.facilityId(), slot.date()));
+        }
+    }
+
+    private static void apply(ConcurrentHashMap<Bucket, Usage> target, Integer facilityId, LocalDate date, Usage delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        for (Granularity granularity : Granularity.values()) {
+            // Drop buckets that fall back to zero so cancelled-out days do not accumulate
+            target.merge(new Bucket(facilityId, granularity, granularity.bucketStart(date)), delta,
+                    (current, change) -> {
+                        Usage sum = current.plus(change);
+                        return sum.isEmpty() ? null : sum;
+                    });
+        }
+    }
+
+    private Set<BookingLockManager.Key> drainTouched() {
+        Set<BookingLockManager.Key> drained = new HashSet<>(touchedDuringRebuild);
+        touchedDuringRebuild.clear();
+        return drained;
+    }
+
+    private record DailyUsage(Integer facilityId, LocalDate date, Usage usage) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.backend.project.service;
+
+import java.util.function.Supplier;
+
+/**
+ * The connection pool a piece of work draws from. Each workload has its own pool, sized and
+ * timed out independently (see {@code DataSourceRoutingConfig}), so a slow report cannot take
+ * the connections interactive bookings need.
+ */
+public enum Workload {
+
+    /** Interactive writes and anything not marked otherwise; always the primary. */
+    WRITE,
+    /** Interactive reads: read-only transactions run through {@link ReplicaReads#read}. */
+    READ,
+    /** Long reporting and export queries, through {@link ReplicaReads#report}. */
+    REPORTING;
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Workload of the current thread; {@link #WRITE} unless marked.
+     */
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload == null ? WRITE : workload;
+    }
+
+    static boolean isMarked() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Runs {@code task} as this workload. Nested calls keep the outer workload.
+     */
+    <T> T run(Supplier<T> task) {
+        if (CURRENT.get() != null) {
+            return task.get();
+        }
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+}
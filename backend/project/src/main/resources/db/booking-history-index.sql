@@ -0,0 +1,8 @@
+-- Supports the keyset-paginated booking history (BookingRepository.findPage): the
+-- (date, start_time, id) DESC scan can stop after one page instead of sorting the table.
+
+CREATE INDEX IF NOT EXISTS bookings_history_idx
+    ON bookings (date DESC, start_time DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_student_history_idx
+    ON bookings (student_id, date DESC, start_time DESC, id DESC);
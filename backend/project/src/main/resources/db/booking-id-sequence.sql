@@ -0,0 +1,22 @@
+-- Moves bookings.id from IDENTITY to a pooled sequence so Hibernate can batch inserts
+-- (see Booking.id, allocationSize = 50 and hibernate.jdbc.batch_size).
+--
+-- Apply once per database, before deploying the matching application version; startup fails
+-- (DatabaseSchemaCheck) until the sequence exists with INCREMENT BY 50. The application's
+-- native inserts (BookingRepository.insertIfFree) take their ids from Hibernate's pooled
+-- generator too, one id at a time. The column default below is for anything else that inserts
+-- bookings: each such nextval() reserves a whole block of 50, so it never collides with ids
+-- the application hands out.
+
+-- An IDENTITY column comes with its own INCREMENT BY 1 sequence (and GENERATED ALWAYS rejects
+-- the ids Hibernate assigns), so turn it into a plain column first. This drops the identity's
+-- sequence, which is recreated below. For a SERIAL column it only prints a notice.
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_id_seq OWNED BY bookings.id;
+
+ALTER SEQUENCE bookings_id_seq INCREMENT BY 50;
+
+SELECT setval('bookings_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM bookings));
+
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_id_seq');
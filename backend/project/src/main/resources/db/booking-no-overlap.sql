@@ -0,0 +1,19 @@
+-- Database-enforced guarantee that CONFIRMED bookings of a facility never overlap.
+-- Backs the single-statement conditional insert in BookingRepository.insertIfFree
+-- (ON CONFLICT DO NOTHING) and turns overlapping updates into a 23P01 error.
+--
+-- Apply once per database. Existing overlaps must be resolved first; list them with:
+--   SELECT a.id, b.id FROM bookings a JOIN bookings b
+--     ON a.facility_id = b.facility_id AND a.date = b.date AND a.id < b.id
+--    AND a.status = 'CONFIRMED' AND b.status = 'CONFIRMED'
+--    AND a.start_time < b.end_time AND a.end_time > b.start_time;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT bookings_no_overlap
+    EXCLUDE USING gist (
+        facility_id WITH =,
+        tsrange(date + start_time, date + end_time) WITH &&
+    )
+    WHERE (status = 'CONFIRMED');
@@ -0,0 +1,11 @@
+-- Durable JWT revocation list (TokenRevocationStore). Reloaded at startup so logged-out
+-- tokens stay revoked across deploys; rows are purged once the token has expired.
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_id   VARCHAR(64) PRIMARY KEY,
+    expires_at TIMESTAMP   NOT NULL,
+    revoked_at TIMESTAMP   NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS revoked_tokens_expires_idx ON revoked_tokens (expires_at);
+CREATE INDEX IF NOT EXISTS revoked_tokens_revoked_idx ON revoked_tokens (revoked_at);
@@ -0,0 +1,84 @@
+package com.backend.project;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+
+/**
+ * Embedded Postgres for tests that need the real database: one server per test JVM (its
+ * binaries ship in the embedded-postgres jar) and one database per test class, so classes
+ * with different application settings never share a schema.
+ */
+public final class TestDatabase {
+
+    private static final String USER = "postgres";
+
+    // Fixed, test-only HS256 key
+    private static final String SECRET_KEY = Base64.getEncoder()
+            .encodeToString("test-only-secret-key-of-32-bytes".getBytes());
+
+    private TestDatabase() {
+    }
+
+    /**
+     * Points the application at a new, empty database called {@code name}. Hibernate creates
+     * the schema; the {@code db/*.sql} scripts are applied by the test as it needs them.
+     */
+    public static void register(DynamicPropertyRegistry registry, String name) {
+        // Suppliers are called on every lookup, so create the database once, up front
+        String url = create(name);
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> USER);
+        registry.add("spring.datasource.password", () -> USER);
+        registry.add("secret.key", () -> SECRET_KEY);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    /**
+     * Runs {@code db/*.sql} scripts from the application's resources, in order.
+     */
+    public static void applyScripts(DataSource dataSource, String... scripts) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        for (String script : scripts) {
+            populator.addScript(new ClassPathResource(script));
+        }
+        populator.execute(dataSource);
+    }
+
+    private static String create(String name) {
+        DataSource server = Server.POSTGRES.getPostgresDatabase();
+        new JdbcTemplate(server).execute("DROP DATABASE IF EXISTS " + name);
+        new JdbcTemplate(server).execute("CREATE DATABASE " + name);
+        return Server.POSTGRES.getJdbcUrl(USER, name);
+    }
+
+    // Started on first use, stopped when the JVM exits
+    private static final class Server {
+
+        static final EmbeddedPostgres POSTGRES = start();
+
+        private static EmbeddedPostgres start() {
+            try {
+                EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        postgres.close();
+                    } catch (IOException ignored) {
+                        // The JVM is exiting anyway
+                    }
+                }));
+                return postgres;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start embedded Postgres", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.backend.project.config;
+
+import com.backend.project.service.BookingLockManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DatabaseSchemaCheckTest {
+
+    @Test
+    void missingConstraintStopsStartupWithoutDatabaseLocks() {
+        assertThatThrownBy(() -> check(false, "none", true).verify())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("bookings_no_overlap");
+        assertThatThrownBy(() -> check(false, "local", true).verify())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void missingConstraintIsOnlyLoggedInDistributedModeOrWhenNotRequired() {
+        assertThatCode(() -> check(false, "distributed", true).verify()).doesNotThrowAnyException();
+        assertThatCode(() -> check(false, "local", false).verify()).doesNotThrowAnyException();
+    }
+
+    @Test
+    void presentConstraintPasses() {
+        assertThatCode(() -> check(true, "none", true).verify()).doesNotThrowAnyException();
+    }
+
+    @Test
+    void idSequenceMustExistAndStepByTheAllocationSize() {
+        assertThatThrownBy(() -> check(true, "distributed", true, List.of()).verify())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("bookings_id_seq is missing");
+        assertThatThrownBy(() -> check(true, "distributed", true, List.of(1L)).verify())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("increments by 1");
+    }
+
+    private static DatabaseSchemaCheck check(boolean constraintExists, String lockMode, boolean required) {
+        return check(constraintExists, lockMode, required, List.of(50L));
+    }
+
+    private static DatabaseSchemaCheck check(boolean constraintExists, String lockMode, boolean required,
+                                             List<Long> sequenceIncrement) {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(contains("pg_constraint"), eq(Boolean.class), any(), any()))
+                .thenReturn(constraintExists);
+        when(jdbcTemplate.queryForList(contains("pg_sequences"), eq(Long.class), any()))
+                .thenReturn(sequenceIncrement);
+        BookingLockManager locks = new BookingLockManager(jdbcTemplate, lockMode, 16, 1000, 1);
+        return new DatabaseSchemaCheck(jdbcTemplate, locks, required);
+    }
+}
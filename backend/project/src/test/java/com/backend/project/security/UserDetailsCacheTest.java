@@ -0,0 +1,47 @@
+package com.backend.project.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDetailsCacheTest {
+
+    private final UserDetailsCache cache = new UserDetailsCache(60, 100);
+
+    @Test
+    void loadIsCachedUntilEvicted() {
+        cache.put(user("alice", "STUDENT"), cache.generation());
+
+        assertThat(cache.get("alice")).isNotNull();
+        cache.evict("alice");
+        assertThat(cache.get("alice")).isNull();
+    }
+
+    @Test
+    void loadStartedBeforeAnEvictionIsNotCached() {
+        // Read the row, then the role changes and the entry is evicted before the load finishes
+        long loadedAt = cache.generation();
+        cache.evict("alice");
+
+        cache.put(user("alice", "STUDENT"), loadedAt);
+
+        assertThat(cache.get("alice")).isNull();
+        cache.put(user("alice", "ADMIN"), cache.generation());
+        assertThat(cache.get("alice").getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void zeroTtlCachesNothing() {
+        UserDetailsCache disabled = new UserDetailsCache(0, 100);
+
+        disabled.put(user("alice", "STUDENT"), disabled.generation());
+
+        assertThat(disabled.get("alice")).isNull();
+    }
+
+    private static UserDetails user(String username, String role) {
+        return User.withUsername(username).password("").roles(role).build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.backend.project.service;
+
+import com.backend.project.exception.ResourceNotFoundException;
+import com.backend.project.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AvailabilityStreamServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    private final BookingCalendarIndex calendarIndex = mock(BookingCalendarIndex.class);
+    private final FacilityCatalog facilityCatalog = mock(FacilityCatalog.class);
+    private final BookingLockManager bookingLocks = mock(BookingLockManager.class);
+
+    private AvailabilityStreamService streams;
+
+    private AvailabilityStreamService streams(int maxSubscribers) {
+        when(facilityCatalog.exists(1)).thenReturn(true);
+        streams = new AvailabilityStreamService(calendarIndex, new AvailabilityVersions(100), facilityCatalog,
+                bookingLocks, 60_000, maxSubscribers, 1);
+        return streams;
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (streams != null) {
+            streams.shutdown();
+        }
+    }
+
+    @Test
+    void refusedInDistributedMode() {
+        AvailabilityStreamService streams = streams(10);
+        when(bookingLocks.isDistributed()).thenReturn(true);
+
+        assertThatThrownBy(() -> streams.subscribe(Set.of(1), Set.of(DAY)))
+                .isInstanceOf(ServiceUnavailableException.class);
+        verifyNoInteractions(calendarIndex);
+    }
+
+    @Test
+    void unknownFacilityIsRejectedBeforeSubscribing() {
+        AvailabilityStreamService streams = streams(10);
+
+        assertThatThrownBy(() -> streams.subscribe(Set.of(1, 99), Set.of(DAY)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(streams.subscriberCount()).isZero();
+        verifyNoInteractions(calendarIndex);
+    }
+
+    @Test
+    void subscribersBeyondTheCapAreRefused() {
+        AvailabilityStreamService streams = streams(1);
+
+        streams.subscribe(Set.of(1), Set.of(DAY));
+
+        assertThatThrownBy(() -> streams.subscribe(Set.of(1), Set.of(DAY)))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(streams.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentSubscribesNeverPassTheCap() throws Exception {
+        AvailabilityStreamService streams = streams(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 16; i++) {
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        streams.subscribe(Set.of(1), Set.of(DAY));
+                        return true;
+                    } catch (ServiceUnavailableException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int opened = 0;
+            for (Future<Boolean> attempt : attempts) {
+                opened += attempt.get() ? 1 : 0;
+            }
+            assertThat(opened).isEqualTo(4);
+        }
+        assertThat(streams.subscriberCount()).isEqualTo(4);
+    }
+
+    @Test
+    void failedSnapshotGivesTheSlotBack() {
+        AvailabilityStreamService streams = streams(1);
+        when(calendarIndex.occupancy(anyInt(), any(LocalDate.class)))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(0L);
+
+        assertThatThrownBy(() -> streams.subscribe(Set.of(1), Set.of(DAY)))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(streams.subscriberCount()).isZero();
+
+        streams.subscribe(Set.of(1), Set.of(DAY));
+        assertThat(streams.subscriberCount()).isEqualTo(1);
+    }
+}
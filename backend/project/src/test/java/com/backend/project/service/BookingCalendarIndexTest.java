@@ -0,0 +1,192 @@
+package com.backend.project.service;
+
+import com.backend.project.event.BookingChangedEvent;
+import com.backend.project.model.Booking;
+import com.backend.project.model.Facility;
+import com.backend.project.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingCalendarIndexTest {
+
+    private static final Integer FACILITY = 1;
+    private static final LocalDate DAY = LocalDate.of(2025, 9, 2);
+    private static final int LAST_SLOT = SlotGrid.SLOT_COUNT - 1;
+
+    private final List<Booking> stored = new ArrayList<>();
+    private BookingRepository repository;
+    private BookingCalendarIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(BookingRepository.class);
+        // A copy, so later changes to `stored` only reach the index through events
+        when(repository.findConfirmedByFacilityAndDate(any(), any()))
+                .thenAnswer(invocation -> new ArrayList<>(stored));
+        index = new BookingCalendarIndex(repository, 1000);
+    }
+
+    @Test
+    void occupancyAtOpeningAndClosingEdges() {
+        stored.add(booking(1, "06:00", "06:30"));
+        stored.add(booking(2, "18:30", "19:00"));
+
+        assertThat(index.occupancy(FACILITY, DAY)).isEqualTo(1L | (1L << LAST_SLOT));
+    }
+
+    @Test
+    void touchingIntervalsDoNotConflict() {
+        stored.add(booking(1, "09:00", "10:00"));
+
+        assertThat(conflict("08:00", "09:00")).isFalse();
+        assertThat(conflict("10:00", "11:00")).isFalse();
+        assertThat(conflict("09:59", "10:30")).isTrue();
+        assertThat(conflict("08:00", "09:01")).isTrue();
+        assertThat(conflict("08:00", "12:00")).isTrue();
+        assertThat(conflict("09:15", "09:45")).isTrue();
+    }
+
+    @Test
+    void shortIntervalsInsideALongOneAreFound() {
+        // The long booking starts first; the running maximum of end times must still reach it
+        stored.add(booking(1, "07:00", "18:00"));
+        stored.add(booking(2, "08:00", "08:30"));
+
+        assertThat(conflict("17:00", "17:30")).isTrue();
+        assertThat(conflict("18:00", "19:00")).isFalse();
+    }
+
+    @Test
+    void excludedBookingIsIgnored() {
+        stored.add(booking(1, "09:00", "10:00"));
+
+        assertThat(index.hasConflict(FACILITY, DAY, time("09:00"), time("10:00"), 1)).isFalse();
+        assertThat(index.hasConflict(FACILITY, DAY, time("09:00"), time("10:00"), 2)).isTrue();
+    }
+
+    @Test
+    void dayIsLoadedFromTheDatabaseOnce() {
+        stored.add(booking(1, "09:00", "10:00"));
+
+        index.occupancy(FACILITY, DAY);
+        conflict("09:00", "10:00");
+        index.onBookingChanged(BookingChangedEvent.created(booking(2, "11:00", "12:00")));
+        conflict("11:00", "12:00");
+
+        verify(repository, times(1)).findConfirmedByFacilityAndDate(FACILITY, DAY);
+    }
+
+    @Test
+    void createAddsTheInterval() {
+        index.occupancy(FACILITY, DAY);
+
+        index.onBookingChanged(BookingChangedEvent.created(booking(1, "18:30", "19:00")));
+
+        assertThat(conflict("18:45", "19:00")).isTrue();
+        assertThat(index.occupancy(FACILITY, DAY)).isEqualTo(1L << LAST_SLOT);
+    }
+
+    @Test
+    void updateMovesTheInterval() {
+        Booking original = booking(1, "09:00", "10:00");
+        stored.add(original);
+        index.occupancy(FACILITY, DAY);
+
+        BookingChangedEvent.Slot before = BookingChangedEvent.Slot.of(original);
+        index.onBookingChanged(BookingChangedEvent.updated(before, booking(1, "11:00", "12:00")));
+
+        assertThat(conflict("09:00", "10:00")).isFalse();
+        assertThat(conflict("11:00", "12:00")).isTrue();
+        assertThat(index.occupancy(FACILITY, DAY)).isEqualTo(SlotGrid.mask(time("11:00"), time("12:00")));
+    }
+
+    @Test
+    void updateToAnotherDayFreesTheOldDayAndReachesTheNewOneOnlyIfLoaded() {
+        Booking original = booking(1, "09:00", "10:00");
+        stored.add(original);
+        index.occupancy(FACILITY, DAY);
+
+        Booking moved = booking(1, "09:00", "10:00");
+        moved.setDate(DAY.plusDays(1));
+        index.onBookingChanged(BookingChangedEvent.updated(BookingChangedEvent.Slot.of(original), moved));
+
+        assertThat(index.occupancy(FACILITY, DAY)).isZero();
+        // Not loaded yet, so the next day comes from the database (here: the mock's list)
+        stored.clear();
+        stored.add(moved);
+        assertThat(index.occupancy(FACILITY, DAY.plusDays(1))).isEqualTo(SlotGrid.mask(time("09:00"), time("10:00")));
+    }
+
+    @Test
+    void cancelFreesTheInterval() {
+        Booking original = booking(1, "09:00", "10:00");
+        stored.add(original);
+        index.occupancy(FACILITY, DAY);
+
+        Booking cancelled = booking(1, "09:00", "10:00");
+        cancelled.setStatus("CANCELLED");
+        index.onBookingChanged(BookingChangedEvent.updated(BookingChangedEvent.Slot.of(original), cancelled));
+
+        assertThat(conflict("09:00", "10:00")).isFalse();
+        assertThat(index.occupancy(FACILITY, DAY)).isZero();
+    }
+
+    @Test
+    void deleteFreesTheInterval() {
+        Booking original = booking(1, "09:00", "10:00");
+        stored.add(original);
+        index.occupancy(FACILITY, DAY);
+
+        index.onBookingChanged(BookingChangedEvent.deleted(BookingChangedEvent.Slot.of(original)));
+
+        assertThat(conflict("09:00", "10:00")).isFalse();
+        assertThat(index.occupancy(FACILITY, DAY)).isZero();
+    }
+
+    @Test
+    void removingOneBookingKeepsASharedSlotBooked() {
+        // Both quarter-hours fall in the 09:00 slot
+        Booking first = booking(1, "09:00", "09:15");
+        stored.add(first);
+        stored.add(booking(2, "09:15", "09:30"));
+        index.occupancy(FACILITY, DAY);
+
+        index.onBookingChanged(BookingChangedEvent.deleted(BookingChangedEvent.Slot.of(first)));
+
+        assertThat(conflict("09:00", "09:15")).isFalse();
+        assertThat(index.occupancy(FACILITY, DAY)).isEqualTo(SlotGrid.mask(time("09:00"), time("09:30")));
+    }
+
+    @Test
+    void eventsForDaysNotLoadedAreIgnored() {
+        index.onBookingChanged(BookingChangedEvent.created(booking(1, "09:00", "10:00")));
+
+        // The day is read from the database on first access, which does not have the booking
+        assertThat(conflict("09:00", "10:00")).isFalse();
+    }
+
+    private boolean conflict(String start, String end) {
+        return index.hasConflict(FACILITY, DAY, time(start), time(end), null);
+    }
+
+    private static Booking booking(int id, String start, String end) {
+        Facility facility = new Facility(FACILITY, "Room", "Library", 10, "Study Room");
+        return new Booking(id, facility, "S1", DAY, time(start), time(end), "CONFIRMED", null);
+    }
+
+    private static LocalTime time(String value) {
+        return LocalTime.parse(value);
+    }
+}
@@ -0,0 +1,159 @@
+package com.backend.project.service;
+
+import com.backend.project.TestDatabase;
+import com.backend.project.dto.BookingRequest;
+import com.backend.project.exception.BookingConflictException;
+import com.backend.project.exception.ServiceUnavailableException;
+import com.backend.project.model.Booking;
+import com.backend.project.repository.BookingIdAllocator;
+import com.backend.project.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Thousands of writers racing for the slots of a few facility-days, once per locking mode.
+ *
+ * LOCAL and DISTRIBUTED run without the {@code bookings_no_overlap} constraint, so the locks
+ * alone have to keep CONFIRMED bookings apart. NONE takes no locks by design and relies on the
+ * constraint, so it runs with it.
+ */
+@SpringBootTest
+class BookingConcurrencyTest {
+
+    private static final int WRITERS = 2000;
+    private static final int FACILITIES = 2;
+    private static final int DAYS = 2;
+    private static final LocalDate FIRST_DAY = LocalDate.now().plusDays(7);
+
+    private static final String OVERLAPS = """
+            SELECT COUNT(*) FROM bookings a
+            JOIN bookings b ON a.facility_id = b.facility_id AND a.date = b.date AND a.id < b.id
+            WHERE a.status = 'CONFIRMED' AND b.status = 'CONFIRMED'
+              AND a.start_time < b.end_time AND b.start_time < a.end_time
+              AND a.facility_id IN (?, ?)
+            """;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry, "booking_concurrency");
+        // The constraint is added and dropped per mode below
+        registry.add("booking.overlap-constraint.required", () -> "false");
+        // Thousands of writers queue on a handful of stripes; a timeout would only hide the race
+        registry.add("booking.locking.timeout-ms", () -> "120000");
+        registry.add("datasource.pools.write.statement-timeout-ms", () -> "0");
+        registry.add("spring.datasource.hikari.connection-timeout", () -> "120000");
+    }
+
+    @Autowired private DataSource dataSource;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private FacilityCatalog facilityCatalog;
+    @Autowired private BookingCalendarIndex calendarIndex;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private BookingMetrics bookingMetrics;
+    @Autowired private ReplicaReads replicaReads;
+    @Autowired private BookingIdAllocator bookingIds;
+
+    @BeforeEach
+    void dropConstraint() {
+        jdbcTemplate.execute("ALTER TABLE bookings DROP CONSTRAINT IF EXISTS bookings_no_overlap");
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingLockManager.Mode.class)
+    void contendedWritersNeverDoubleBook(BookingLockManager.Mode mode) throws InterruptedException {
+        if (mode == BookingLockManager.Mode.NONE) {
+            TestDatabase.applyScripts(dataSource, "db/booking-no-overlap.sql");
+        }
+        BookingService bookingService = bookingService(mode);
+        // Fresh facilities per mode, so the shared calendar index starts from empty days
+        Integer[] facilityIds = {facility(mode + " A"), facility(mode + " B")};
+        facilityCatalog.reload();
+
+        List<Booking> created = new CopyOnWriteArrayList<>();
+        AtomicInteger conflicts = new AtomicInteger();
+        AtomicInteger busy = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < WRITERS; i++) {
+                writers.submit(() -> {
+                    BookingRequest request = randomRequest(facilityIds);
+                    try {
+                        start.await();
+                        // One in ten writers moves an existing booking instead of creating one
+                        if (!created.isEmpty() && ThreadLocalRandom.current().nextInt(10) == 0) {
+                            Booking target = created.get(ThreadLocalRandom.current().nextInt(created.size()));
+                            bookingService.updateBooking(target.getId(), request);
+                        } else {
+                            created.add(bookingService.createBooking(request));
+                        }
+                    } catch (BookingConflictException e) {
+                        conflicts.incrementAndGet();
+                    } catch (ServiceUnavailableException e) {
+                        busy.incrementAndGet();
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertThat(failures).isEmpty();
+        assertThat(created).isNotEmpty();
+        assertThat(conflicts.get()).isPositive();
+        assertThat(jdbcTemplate.queryForObject(OVERLAPS, Long.class, facilityIds[0], facilityIds[1])).isZero();
+    }
+
+    private BookingService bookingService(BookingLockManager.Mode mode) {
+        BookingLockManager locks = new BookingLockManager(jdbcTemplate, mode.name(), 256, 120_000, 1);
+        return new BookingService(bookingRepository, facilityCatalog, calendarIndex, eventPublisher,
+                locks, transactionTemplate, bookingMetrics, replicaReads, bookingIds);
+    }
+
+    private Integer facility(String name) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO facilities (name, location, capacity, type) VALUES (?, 'Library', 10, 'Study Room') RETURNING id",
+                Integer.class, name);
+    }
+
+    /**
+     * 30 or 60 minutes on the slot grid, on one of the few contended facility-days.
+     */
+    private static BookingRequest randomRequest(Integer[] facilityIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int slot = random.nextInt(SlotGrid.SLOT_COUNT);
+        int length = slot + 2 <= SlotGrid.SLOT_COUNT && random.nextBoolean() ? 2 : 1;
+        LocalTime startTime = SlotGrid.slotStart(slot);
+        LocalTime endTime = SlotGrid.slotStart(slot + length);
+        return new BookingRequest(facilityIds[random.nextInt(FACILITIES)], "S" + random.nextInt(1000),
+                FIRST_DAY.plusDays(random.nextInt(DAYS)), startTime, endTime, null, null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.backend.project.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingExportServiceTest {
+
+    @Test
+    void plainValuesAreWrittenAsIs() {
+        assertThat(BookingExportService.csv("S12345")).isEqualTo("S12345");
+        assertThat(BookingExportService.csv("")).isEmpty();
+        assertThat(BookingExportService.csv(null)).isEmpty();
+    }
+
+    @Test
+    void valuesWithSeparatorsOrQuotesAreQuoted() {
+        assertThat(BookingExportService.csv("Room A, 2nd floor")).isEqualTo("\"Room A, 2nd floor\"");
+        assertThat(BookingExportService.csv("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+        assertThat(BookingExportService.csv("line\nbreak")).isEqualTo("\"line\nbreak\"");
+    }
+
+    @Test
+    void formulaTriggersOpenAsText() {
+        assertThat(BookingExportService.csv("=HYPERLINK(\"http://x\")")).isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\"");
+        assertThat(BookingExportService.csv("+1")).isEqualTo("'+1");
+        assertThat(BookingExportService.csv("-2+3")).isEqualTo("'-2+3");
+        assertThat(BookingExportService.csv("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(BookingExportService.csv("\tcmd")).isEqualTo("'\tcmd");
+        // Only a leading trigger counts
+        assertThat(BookingExportService.csv("a=b")).isEqualTo("a=b");
+    }
+}
@@ -0,0 +1,105 @@
+package com.backend.project.service;
+
+import com.backend.project.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class BookingLockManagerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+    private static final String ADVISORY_LOCK = "SELECT pg_advisory_xact_lock(?, ?)";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    @Test
+    void advisoryLocksWaitNoLongerThanTheLockTimeout() {
+        BookingLockManager locks = new BookingLockManager(jdbcTemplate, "distributed", 16, 2500, 1);
+
+        locks.acquireDatabaseLocks(List.of(new BookingLockManager.Key(2, DAY), new BookingLockManager.Key(1, DAY)));
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("SET LOCAL lock_timeout = 2500");
+        order.verify(jdbcTemplate).queryForList(ADVISORY_LOCK, 1, (int) DAY.toEpochDay());
+        order.verify(jdbcTemplate).queryForList(ADVISORY_LOCK, 2, (int) DAY.toEpochDay());
+    }
+
+    @Test
+    void localModeTakesNoDatabaseLocks() {
+        BookingLockManager locks = new BookingLockManager(jdbcTemplate, "local", 16, 2500, 1);
+
+        locks.acquireDatabaseLocks(List.of(new BookingLockManager.Key(1, DAY)));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void lockTimeoutIsBusy() {
+        BookingLockManager locks = new BookingLockManager(jdbcTemplate, "distributed", 16, 2500, 3);
+        when(jdbcTemplate.queryForList(eq(ADVISORY_LOCK), any(), any())).thenThrow(new CannotAcquireLockException(
+                "lock timeout", new SQLException("canceling statement due to lock timeout", "55P03")));
+
+        assertThatThrownBy(() -> locks.withLock(1, DAY, () -> {
+            locks.acquireDatabaseLocks(List.of(new BookingLockManager.Key(1, DAY)));
+            return null;
+        }))
+                .isInstanceOfSatisfying(ServiceUnavailableException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(3));
+    }
+
+    @Test
+    void statementTimeoutIsBusyInEveryMode() {
+        for (BookingLockManager.Mode mode : BookingLockManager.Mode.values()) {
+            BookingLockManager locks = new BookingLockManager(jdbcTemplate, mode.name(), 16, 2500, 1);
+
+            assertThatThrownBy(() -> locks.withLock(1, DAY, () -> {
+                throw new QueryTimeoutException("statement timeout",
+                        new SQLException("canceling statement due to statement timeout", "57014"));
+            })).isInstanceOf(ServiceUnavailableException.class);
+        }
+    }
+
+    @Test
+    void otherDatabaseErrorsPropagate() {
+        BookingLockManager locks = new BookingLockManager(jdbcTemplate, "local", 16, 2500, 1);
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("fk",
+                new SQLException("violates foreign key constraint", "23503"));
+
+        assertThatThrownBy(() -> locks.withLock(1, DAY, () -> {
+            throw violation;
+        })).isSameAs(violation);
+    }
+
+    @Test
+    void lockIsReleasedAfterBusy() throws Exception {
+        BookingLockManager locks = new BookingLockManager(jdbcTemplate, "local", 1, 100, 1);
+
+        assertThatThrownBy(() -> locks.withLock(1, DAY, () -> {
+            throw new QueryTimeoutException("statement timeout", new SQLException("cancel", "57014"));
+        })).isInstanceOf(ServiceUnavailableException.class);
+
+        // Another thread, since the stripe locks are reentrant
+        try (ExecutorService other = Executors.newSingleThreadExecutor()) {
+            assertThat(other.submit(() -> locks.withLock(1, DAY, () -> "next writer")).get())
+                    .isEqualTo("next writer");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.backend.project.service;
+
+import com.backend.project.TestDatabase;
+import com.backend.project.dto.BookingPageResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Booking reads fetch-join or project the facility columns they emit, so each is one SQL
+ * statement whether its rows span one facility or many.
+ */
+@SpringBootTest
+class BookingQueryCountTest {
+
+    private static final int BOOKINGS = 60;
+    private static final int PAGE_SIZE = 50;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry, "booking_queries");
+        registry.add("booking.overlap-constraint.required", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired private BookingService bookingService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void everyReadIsOneStatementWhateverTheNumberOfFacilities(int facilities) {
+        String studentId = "Q" + facilities;
+        List<Integer> bookingIds = seed(facilities, studentId);
+
+        assertThat(statements(() -> bookingService.getBookingPage(null, null, null, null, null, null, PAGE_SIZE)))
+                .isEqualTo(1);
+        assertThat(statements(() -> bookingService.getBookingPage(null, null, studentId, null, null, null, PAGE_SIZE)))
+                .isEqualTo(1);
+
+        BookingPageResponse first = bookingService.getBookingPage(null, null, studentId, null, null, null, PAGE_SIZE);
+        assertThat(first.getItems()).extracting(b -> b.getFacility().getId()).distinct().hasSize(facilities);
+        assertThat(statements(() -> bookingService.getBookingPage(
+                null, null, studentId, null, null, first.getNextCursor(), PAGE_SIZE))).isEqualTo(1);
+
+        assertThat(statements(() -> bookingService.getRecentBookings(studentId, 500))).isEqualTo(1);
+        assertThat(statements(() -> bookingService.getRecentBookings(null, 500))).isEqualTo(1);
+        assertThat(statements(() -> bookingService.getBookingById(bookingIds.get(0)))).isEqualTo(1);
+    }
+
+    private long statements(Runnable read) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * {@link #BOOKINGS} bookings for {@code studentId}, spread round-robin over new facilities.
+     */
+    private List<Integer> seed(int facilities, String studentId) {
+        List<Integer> facilityIds = new ArrayList<>(facilities);
+        for (int i = 0; i < facilities; i++) {
+            facilityIds.add(jdbcTemplate.queryForObject(
+                    "INSERT INTO facilities (name, location, capacity, type) VALUES (?, 'Library', 10, 'Study Room') RETURNING id",
+                    Integer.class, studentId + " room " + i));
+        }
+
+        List<Integer> bookingIds = new ArrayList<>(BOOKINGS);
+        LocalDate day = LocalDate.now();
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalTime start = SlotGrid.slotStart(i % SlotGrid.SLOT_COUNT);
+            bookingIds.add(jdbcTemplate.queryForObject(
+                    "INSERT INTO bookings (id, facility_id, student_id, date, start_time, end_time, status) "
+                    + "VALUES (nextval('bookings_id_seq'), ?, ?, ?, ?, ?, 'CONFIRMED') RETURNING id",
+                    Integer.class, facilityIds.get(i % facilities), studentId, day.minusDays(i / SlotGrid.SLOT_COUNT),
+                    start, start.plusMinutes(SlotGrid.SLOT_MINUTES)));
+        }
+        return bookingIds;
+    }
+}
@@ -0,0 +1,206 @@
+package com.backend.project.service;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaReadsTest {
+
+    private static final String CURRENT_LSN = "SELECT pg_current_wal_lsn()::text";
+    private static final String REPLAY_LSN = "SELECT pg_last_wal_replay_lsn()::text";
+
+    private final JdbcTemplate primary = mock(JdbcTemplate.class);
+    private final JdbcTemplate replica = mock(JdbcTemplate.class);
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void bindRequest() {
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+    }
+
+    @AfterEach
+    void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void withoutReplicaEverythingReadsFromTheReadPool() {
+        ReplicaReads reads = new ReplicaReads(false, 30_000, 0, primary, replica);
+        request.addHeader(ReplicaReads.WRITE_MARKER_HEADER, "1/0");
+
+        assertThat(reads.read(Workload::current)).isEqualTo(Workload.READ);
+        verify(replica, never()).queryForObject(anyString(), eq(String.class));
+    }
+
+    @Test
+    void readWithoutMarkerGoesToReplicaWithoutAskingIt() {
+        ReplicaReads reads = new ReplicaReads(true, 30_000, 0, primary, replica);
+
+        assertThat(reads.read(Workload::current)).isEqualTo(Workload.READ);
+        verify(replica, never()).queryForObject(anyString(), eq(String.class));
+    }
+
+    @Test
+    void markerAheadOfReplicaPinsReadToPrimary() {
+        ReplicaReads reads = new ReplicaReads(true, 30_000, 0, primary, replica);
+        when(replica.queryForObject(REPLAY_LSN, String.class)).thenReturn("0/16B3740");
+        request.addHeader(ReplicaReads.WRITE_MARKER_HEADER, "0/16B3748");
+
+        assertThat(reads.read(Workload::current)).isEqualTo(Workload.WRITE);
+    }
+
+    @Test
+    void markerReplayedByReplicaReadsFromReplica() {
+        ReplicaReads reads = new ReplicaReads(true, 30_000, 0, primary, replica);
+        when(replica.queryForObject(REPLAY_LSN, String.class)).thenReturn("0/16B3748");
+        request.setCookies(new Cookie(ReplicaReads.WRITE_MARKER_COOKIE, "0/16B3748"));
+
+        assertThat(reads.read(Workload::current)).isEqualTo(Workload.READ);
+    }
+
+    @Test
+    void readFollowsReplicaOnceItCatchesUp() {
+        ReplicaReads reads = new ReplicaReads(true, 30_000, 0, primary, replica);
+        when(replica.queryForObject(REPLAY_LSN, String.class)).thenReturn("0/100", "0/200");
+        request.addHeader(ReplicaReads.WRITE_MARKER_HEADER, "0/200");
+
+        assertThat(reads.read(Workload::current)).isEqualTo(Workload.WRITE);
+        assertThat(reads.read(Workload::current)).isEqualTo(Workload.READ);
+        // Known to be caught up: later reads no longer ask
+        assertThat(reads.read(Workload::current)).isEqualTo(Workload.READ);
+        verify(replica, times(2)).queryForObject(REPLAY_LSN, String.class);
+    }
+
+    @Test
+    void replicaIsAskedAtMostOncePerCheckInterval() {
+        ReplicaReads reads = new ReplicaReads(true, 30_000, 60_000, primary, replica);
+        when(replica.queryForObject(REPLAY_LSN, String.class)).thenReturn("0/100", "0/200");
+        request.addHeader(ReplicaReads.WRITE_MARKER_HEADER, "0/200");
+
+        assertThat(reads.read(Workload::current)).isEqualTo(Workload.WRITE);
+        assertThat(reads.read(Workload::current)).isEqualTo(Workload.WRITE);
+        verify(replica, times(1)).queryForObject(REPLAY_LSN, String.class);
+    }
+
+    @Test
+    void serverThatIsNotAStandbyCountsAsCaughtUp() {
+        ReplicaReads reads = new ReplicaReads(true, 30_000, 0, primary, replica);
+        when(replica.queryForObject(REPLAY_LSN, String.class)).thenReturn(null);
+        request.addHeader(ReplicaReads.WRITE_MARKER_HEADER, "FF/0");
+
+        assertThat(reads.read(Workload::current)).isEqualTo(Workload.READ);
+    }
+
+    @Test
+    void unreachableReplicaPinsMarkedReadsToPrimary() {
+        ReplicaReads reads = new ReplicaReads(true, 30_000, 0, primary, replica);
+        when(replica.queryForObject(REPLAY_LSN, String.class))
+                .thenThrow(new DataAccessResourceFailureException("replica down"));
+        request.addHeader(ReplicaReads.WRITE_MARKER_HEADER, "0/200");
+
+        assertThat(reads.read(Workload::current)).isEqualTo(Workload.WRITE);
+    }
+
+    @Test
+    void malformedMarkerIsIgnored() {
+        ReplicaReads reads = new ReplicaReads(true, 30_000, 0, primary, replica);
+        request.addHeader(ReplicaReads.WRITE_MARKER_HEADER, "not-an-lsn");
+
+        assertThat(reads.read(Workload::current)).isEqualTo(Workload.READ);
+    }
+
+    @Test
+    void reportsAreNeverPinned() {
+        ReplicaReads reads = new ReplicaReads(true, 30_000, 0, primary, replica);
+        when(replica.queryForObject(REPLAY_LSN, String.class)).thenReturn("0/100");
+        request.addHeader(ReplicaReads.WRITE_MARKER_HEADER, "0/200");
+
+        assertThat(reads.report(Workload::current)).isEqualTo(Workload.REPORTING);
+        // Nested interactive reads keep the outer workload
+        assertThat(reads.report(() -> reads.read(Workload::current))).isEqualTo(Workload.REPORTING);
+    }
+
+    @Test
+    void writeHandsTheClientAMarkerAndPinsTheRestOfTheRequest() {
+        ReplicaReads reads = new ReplicaReads(true, 30_000, 0, primary, replica);
+        when(primary.queryForObject(CURRENT_LSN, String.class)).thenReturn("0/300");
+        when(replica.queryForObject(REPLAY_LSN, String.class)).thenReturn("0/200");
+
+        reads.recordWrite();
+
+        assertThat(response.getHeader(ReplicaReads.WRITE_MARKER_HEADER)).isEqualTo("0/300");
+        Cookie cookie = response.getCookie(ReplicaReads.WRITE_MARKER_COOKIE);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getValue()).isEqualTo("0/300");
+        assertThat(cookie.getMaxAge()).isEqualTo(30);
+        assertThat(reads.read(Workload::current)).isEqualTo(Workload.WRITE);
+    }
+
+    @Test
+    void markerNeverMovesBackwards() {
+        ReplicaReads reads = new ReplicaReads(true, 30_000, 0, primary, replica);
+        when(primary.queryForObject(CURRENT_LSN, String.class)).thenReturn("0/300");
+        request.addHeader(ReplicaReads.WRITE_MARKER_HEADER, "1/0");
+
+        reads.recordWrite();
+
+        assertThat(response.getHeader(ReplicaReads.WRITE_MARKER_HEADER)).isEqualTo("1/0");
+    }
+
+    @Test
+    void writeInsideTransactionIsMarkedAfterCommit() {
+        ReplicaReads reads = new ReplicaReads(true, 30_000, 0, primary, replica);
+        when(primary.queryForObject(CURRENT_LSN, String.class)).thenReturn("0/300");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            reads.recordWrite();
+            verify(primary, never()).queryForObject(CURRENT_LSN, String.class);
+            assertThat(response.getHeader(ReplicaReads.WRITE_MARKER_HEADER)).isNull();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(response.getHeader(ReplicaReads.WRITE_MARKER_HEADER)).isEqualTo("0/300");
+    }
+
+    @Test
+    void writeOutsideRequestOrWithoutReplicaIsNotMarked() {
+        new ReplicaReads(false, 30_000, 0, primary, replica).recordWrite();
+        RequestContextHolder.resetRequestAttributes();
+        new ReplicaReads(true, 30_000, 0, primary, replica).recordWrite();
+
+        verify(primary, never()).queryForObject(anyString(), eq(String.class));
+        assertThat(response.getHeader(ReplicaReads.WRITE_MARKER_HEADER)).isNull();
+    }
+
+    @Test
+    void lsnTextRoundTripsAndOrders() {
+        assertThat(ReplicaReads.parseLsn("16/B374D848")).isEqualTo(0x16B374D848L);
+        assertThat(ReplicaReads.formatLsn(0x16B374D848L)).isEqualTo("16/B374D848");
+        assertThat(ReplicaReads.parseLsn("1/0")).isGreaterThan(ReplicaReads.parseLsn("0/FFFFFFFF"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.backend.project.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlotGridTest {
+
+    private static final int LAST_SLOT = SlotGrid.SLOT_COUNT - 1;
+
+    @Test
+    void gridCoversOperatingHoursInThirtyMinuteSlots() {
+        assertThat(SlotGrid.SLOT_COUNT).isEqualTo(26);
+        assertThat(SlotGrid.FULL_DAY).isEqualTo((1L << 26) - 1);
+        assertThat(SlotGrid.slotStart(0)).isEqualTo(LocalTime.of(6, 0));
+        assertThat(SlotGrid.slotEnd(LAST_SLOT)).isEqualTo(LocalTime.of(19, 0));
+    }
+
+    @Test
+    void firstAndLastSlotsAreTheEdgeBits() {
+        assertThat(SlotGrid.mask(LocalTime.of(6, 0), LocalTime.of(6, 30))).isEqualTo(1L);
+        assertThat(SlotGrid.mask(LocalTime.of(18, 30), LocalTime.of(19, 0))).isEqualTo(1L << LAST_SLOT);
+        assertThat(SlotGrid.mask(LocalTime.of(6, 0), LocalTime.of(19, 0))).isEqualTo(SlotGrid.FULL_DAY);
+    }
+
+    @Test
+    void intervalsTouchingOpenOrCloseTimeSetNoBits() {
+        assertThat(SlotGrid.mask(LocalTime.of(5, 0), LocalTime.of(6, 0))).isZero();
+        assertThat(SlotGrid.mask(LocalTime.of(19, 0), LocalTime.of(20, 0))).isZero();
+        assertThat(SlotGrid.mask(LocalTime.of(0, 0), LocalTime.of(5, 59))).isZero();
+    }
+
+    @Test
+    void partsOutsideOperatingHoursAreClipped() {
+        assertThat(SlotGrid.mask(LocalTime.of(5, 30), LocalTime.of(6, 15))).isEqualTo(1L);
+        assertThat(SlotGrid.mask(LocalTime.of(18, 45), LocalTime.of(19, 30))).isEqualTo(1L << LAST_SLOT);
+        assertThat(SlotGrid.mask(LocalTime.of(4, 0), LocalTime.of(21, 0))).isEqualTo(SlotGrid.FULL_DAY);
+    }
+
+    @Test
+    void partialSlotsAreMarkedBooked() {
+        // 06:10–06:40 touches slots 0 and 1
+        assertThat(SlotGrid.mask(LocalTime.of(6, 10), LocalTime.of(6, 40))).isEqualTo(0b11L);
+        // 06:30–06:31 touches slot 1 only: a booking ending exactly on a boundary does not spill over
+        assertThat(SlotGrid.mask(LocalTime.of(6, 30), LocalTime.of(6, 31))).isEqualTo(0b10L);
+        assertThat(SlotGrid.mask(LocalTime.of(6, 29), LocalTime.of(7, 0))).isEqualTo(0b11L);
+    }
+
+    @Test
+    void emptyIntervalSetsNoBits() {
+        assertThat(SlotGrid.mask(LocalTime.of(9, 0), LocalTime.of(9, 0))).isZero();
+    }
+
+    @Test
+    void isBookedReadsSingleBits() {
+        long occupancy = SlotGrid.mask(LocalTime.of(6, 0), LocalTime.of(6, 30))
+                | SlotGrid.mask(LocalTime.of(18, 30), LocalTime.of(19, 0));
+
+        assertThat(SlotGrid.isBooked(occupancy, 0)).isTrue();
+        assertThat(SlotGrid.isBooked(occupancy, 1)).isFalse();
+        assertThat(SlotGrid.isBooked(occupancy, LAST_SLOT - 1)).isFalse();
+        assertThat(SlotGrid.isBooked(occupancy, LAST_SLOT)).isTrue();
+    }
+}
@@ -0,0 +1,214 @@
+package com.backend.project.service;
+
+import com.backend.project.event.BookingChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rebuilds against a stub table, with booking events landing while the aggregate and the
+ * exact re-reads run.
+ */
+class UtilizationRollupTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+    private static final LocalTime NINE = LocalTime.of(9, 0);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ReplicaReads replicaReads = new ReplicaReads(false, 30_000, 0, null, null);
+
+    // The bookings table, as minutes and bookings per facility-day
+    private final Map<BookingLockManager.Key, UtilizationRollup.Usage> table = new HashMap<>();
+    // Runs while the next query is in flight, after it has read the table
+    private final List<Runnable> duringQuery = new ArrayList<>();
+    private final List<Workload> queryWorkloads = new ArrayList<>();
+
+    private UtilizationRollup rollup;
+
+    @BeforeEach
+    void stubTable() throws SQLException {
+        rollup = new UtilizationRollup(jdbcTemplate, mock(PlatformTransactionManager.class), replicaReads, Runnable::run);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+            queryWorkloads.add(Workload.current());
+            Object[] arguments = invocation.getArguments();
+            RowMapper<?> mapper = invocation.getArgument(1);
+            List<Object> rows = new ArrayList<>();
+            for (Map.Entry<BookingLockManager.Key, UtilizationRollup.Usage> entry : table.entrySet()) {
+                BookingLockManager.Key key = entry.getKey();
+                boolean wanted = arguments.length == 2
+                        || (key.facilityId().equals(arguments[2]) && key.date().equals(arguments[3]));
+                if (wanted) {
+                    rows.add(mapper.mapRow(row(key, entry.getValue()), rows.size()));
+                }
+            }
+            if (!duringQuery.isEmpty()) {
+                duringQuery.remove(0).run();
+            }
+            return rows;
+        });
+    }
+
+    @Test
+    void notLoadedUntilTheApplicationIsReady() {
+        book(1, DAY, 60);
+
+        assertThat(rollup.isLoaded()).isFalse();
+        verifyNoInteractions(jdbcTemplate);
+
+        rollup.loadAfterStartup();
+
+        assertThat(rollup.isLoaded()).isTrue();
+        assertThat(rollup.usage(1, UtilizationRollup.Granularity.DAY, DAY)).isEqualTo(new UtilizationRollup.Usage(60, 1));
+    }
+
+    @Test
+    void aggregateRunsOnTheReportingPoolAndRereadsOnThePrimary() {
+        duringQuery.add(() -> book(1, DAY, 30));
+
+        rollup.rebuild();
+
+        assertThat(queryWorkloads).containsExactly(Workload.REPORTING, Workload.WRITE);
+    }
+
+    @Test
+    void bookingCommittedDuringTheAggregateIsCountedOnce() {
+        book(1, DAY, 60);
+        // Commits after the aggregate read the table: missing from its result
+        duringQuery.add(() -> book(1, DAY, 30));
+
+        rollup.rebuild();
+
+        assertMatchesTable();
+        assertThat(rollup.usage(1, UtilizationRollup.Granularity.DAY, DAY)).isEqualTo(new UtilizationRollup.Usage(90, 2));
+    }
+
+    @Test
+    void bookingAlreadyInTheAggregateIsNotCountedTwice() {
+        book(1, DAY, 60);
+        // In the table before the aggregate reads it, but its event arrives only afterwards
+        table.merge(new BookingLockManager.Key(1, DAY), new UtilizationRollup.Usage(30, 1), UtilizationRollup.Usage::plus);
+        duringQuery.add(() -> rollup.onBookingChanged(new BookingChangedEvent(null, slot(1, DAY, 30))));
+
+        rollup.rebuild();
+
+        assertMatchesTable();
+        assertThat(rollup.usage(1, UtilizationRollup.Granularity.DAY, DAY)).isEqualTo(new UtilizationRollup.Usage(90, 2));
+    }
+
+    @Test
+    void changesDuringTheRereadsAreRereadToo() {
+        book(1, DAY, 60);
+        duringQuery.add(() -> book(1, DAY, 30));
+        // While the first re-read runs: a cancellation there and a booking on another facility-day
+        duringQuery.add(() -> {
+            cancel(1, DAY, 60);
+            book(2, DAY.plusDays(1), 120);
+        });
+
+        rollup.rebuild();
+
+        assertMatchesTable();
+        assertThat(rollup.usage(1, UtilizationRollup.Granularity.DAY, DAY)).isEqualTo(new UtilizationRollup.Usage(30, 1));
+        assertThat(rollup.usage(2, UtilizationRollup.Granularity.WEEK, DAY)).isEqualTo(new UtilizationRollup.Usage(120, 1));
+    }
+
+    @Test
+    void eventsAfterTheRebuildAreDeltas() {
+        book(1, DAY, 60);
+        rollup.rebuild();
+
+        book(1, DAY, 30);
+        cancel(1, DAY, 60);
+
+        assertMatchesTable();
+        // Back to idle: nothing left to re-read
+        rollup.rebuild();
+        assertThat(queryWorkloads).containsExactly(Workload.REPORTING, Workload.REPORTING);
+    }
+
+    @Test
+    void failedRebuildKeepsTheTotals() {
+        book(1, DAY, 60);
+        rollup.rebuild();
+        book(1, DAY, 30);
+
+        doThrow(new QueryTimeoutException("statement timeout"))
+                .when(jdbcTemplate).query(anyString(), any(RowMapper.class), any(Object[].class));
+        rollup.rebuild();
+
+        assertThat(rollup.isLoaded()).isTrue();
+        assertThat(rollup.usage(1, UtilizationRollup.Granularity.DAY, DAY)).isEqualTo(new UtilizationRollup.Usage(90, 2));
+    }
+
+    @Test
+    void startupBuildRunsOnTheGivenExecutor() {
+        List<Runnable> submitted = new ArrayList<>();
+        Executor executor = submitted::add;
+        UtilizationRollup deferred = new UtilizationRollup(jdbcTemplate, mock(PlatformTransactionManager.class),
+                replicaReads, executor);
+
+        deferred.loadAfterStartup();
+
+        assertThat(submitted).hasSize(1);
+        assertThat(deferred.isLoaded()).isFalse();
+        submitted.get(0).run();
+        assertThat(deferred.isLoaded()).isTrue();
+    }
+
+    private void assertMatchesTable() {
+        for (Map.Entry<BookingLockManager.Key, UtilizationRollup.Usage> entry : table.entrySet()) {
+            assertThat(rollup.usage(entry.getKey().facilityId(), UtilizationRollup.Granularity.DAY, entry.getKey().date()))
+                    .as("%s", entry.getKey())
+                    .isEqualTo(entry.getValue().isEmpty() ? UtilizationRollup.Usage.NONE : entry.getValue());
+        }
+    }
+
+    /**
+     * Commits a CONFIRMED booking of {@code minutes} and publishes its event.
+     */
+    private void book(int facilityId, LocalDate date, int minutes) {
+        table.merge(new BookingLockManager.Key(facilityId, date), new UtilizationRollup.Usage(minutes, 1),
+                UtilizationRollup.Usage::plus);
+        rollup.onBookingChanged(new BookingChangedEvent(null, slot(facilityId, date, minutes)));
+    }
+
+    private void cancel(int facilityId, LocalDate date, int minutes) {
+        table.merge(new BookingLockManager.Key(facilityId, date), new UtilizationRollup.Usage(minutes, 1),
+                UtilizationRollup.Usage::minus);
+        rollup.onBookingChanged(BookingChangedEvent.deleted(slot(facilityId, date, minutes)));
+    }
+
+    private static BookingChangedEvent.Slot slot(int facilityId, LocalDate date, int minutes) {
+        return new BookingChangedEvent.Slot(null, facilityId, date, NINE, NINE.plusMinutes(minutes), "CONFIRMED");
+    }
+
+    private static ResultSet row(BookingLockManager.Key key, UtilizationRollup.Usage usage) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt("facility_id")).thenReturn(key.facilityId());
+        when(rs.getObject("date", LocalDate.class)).thenReturn(key.date());
+        when(rs.getLong("minutes")).thenReturn(usage.minutes());
+        when(rs.getLong("bookings")).thenReturn(usage.bookings());
+        return rs;
+    }
+}
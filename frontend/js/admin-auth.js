@@ -45,19 +45,29 @@ async function adminLogout() {
 }
 
 // ══ Auth header helper ════════════════════════════════════
+// X-Write-Lsn: returned after a write; sending it back keeps our next
+// reads on the primary database until the replica has caught up.
 function authHeaders() {
     const token = localStorage.getItem('adminToken');
+    const marker = sessionStorage.getItem('campusbook_write_lsn');
     return {
         'Content-Type': 'application/json',
         'Authorization': 'Bearer ' + token,
+        ...(marker ? { 'X-Write-Lsn': marker } : {}),
     };
 }
 
+function rememberWriteMarker(res) {
+    const marker = res.headers.get('X-Write-Lsn');
+    if (marker) sessionStorage.setItem('campusbook_write_lsn', marker);
+}
+
 // ══ Authenticated HTTP helpers (no credentials:include) ══
 
 async function adminGet(path) {
     try {
         const res = await fetch(BASE_URL + path, { headers: authHeaders() });
+        rememberWriteMarker(res);
         if (res.status === 401) { adminLogout(); return null; }
         if (!res.ok) throw new Error(`GET ${path} → ${res.status}`);
         return await res.json();
@@ -74,6 +84,7 @@ async function adminPost(path, body) {
             headers: authHeaders(),
             body: JSON.stringify(body),
         });
+        rememberWriteMarker(res);
         if (res.status === 401) { adminLogout(); return null; }
         if (!res.ok) throw new Error(`POST ${path} → ${res.status}`);
         return await res.json();
@@ -90,6 +101,7 @@ async function adminPut(path, body) {
             headers: authHeaders(),
             body: JSON.stringify(body),
         });
+        rememberWriteMarker(res);
         if (res.status === 401) { adminLogout(); return null; }
         if (!res.ok) throw new Error(`PUT ${path} → ${res.status}`);
         return await res.json();
@@ -106,6 +118,7 @@ async function adminPatch(path, body = null) {
             headers: authHeaders(),
             body: body ? JSON.stringify(body) : null,
         });
+        rememberWriteMarker(res);
         if (res.status === 401) { adminLogout(); return null; }
         if (!res.ok) throw new Error(`PATCH ${path} → ${res.status}`);
         return await res.json();
@@ -121,6 +134,7 @@ async function adminDelete(path) {
             method: 'DELETE',
             headers: authHeaders(),
         });
+        rememberWriteMarker(res);
         if (res.status === 401) { adminLogout(); return null; }
         if (!res.ok) throw new Error(`DELETE ${path} → ${res.status}`);
         return true;
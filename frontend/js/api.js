@@ -18,12 +18,27 @@ function getAuthHeader() {
   return token ? { 'Authorization': `Bearer ${token}` } : {};
 }
 
+// ── Read-your-writes marker ──────────────────────────────
+// After a write the backend returns X-Write-Lsn; sending it back keeps
+// our next reads on the primary database until the replica has caught up.
+
+function getWriteMarkerHeader() {
+  const marker = sessionStorage.getItem('campusbook_write_lsn');
+  return marker ? { 'X-Write-Lsn': marker } : {};
+}
+
+function rememberWriteMarker(res) {
+  const marker = res.headers.get('X-Write-Lsn');
+  if (marker) sessionStorage.setItem('campusbook_write_lsn', marker);
+}
+
 // ── Low-level helpers ────────────────────────────────────
 
 async function apiGet(path) {
   const res = await fetch(BASE_URL + path, {
-    headers: { ...getAuthHeader() }
+    headers: { ...getAuthHeader(), ...getWriteMarkerHeader() }
   });
+  rememberWriteMarker(res);
   if (!res.ok) {
     const body = await res.json().catch(() => ({}));
     throw new Error(body.message || `GET ${path} → ${res.status}`);
@@ -34,9 +49,10 @@ async function apiGet(path) {
 async function apiPost(path, body) {
   const res = await fetch(BASE_URL + path, {
     method: 'POST',
-    headers: { 'Content-Type': 'application/json', ...getAuthHeader() },
+    headers: { 'Content-Type': 'application/json', ...getAuthHeader(), ...getWriteMarkerHeader() },
     body: JSON.stringify(body),
   });
+  rememberWriteMarker(res);
   const data = await res.json().catch(() => ({}));
   if (!res.ok) throw new Error(data.message || `POST ${path} → ${res.status}`);
   return data;
@@ -45,9 +61,10 @@ async function apiPost(path, body) {
 async function apiPut(path, body) {
   const res = await fetch(BASE_URL + path, {
     method: 'PUT',
-    headers: { 'Content-Type': 'application/json', ...getAuthHeader() },
+    headers: { 'Content-Type': 'application/json', ...getAuthHeader(), ...getWriteMarkerHeader() },
     body: JSON.stringify(body),
   });
+  rememberWriteMarker(res);
   const data = await res.json().catch(() => ({}));
   if (!res.ok) throw new Error(data.message || `PUT ${path} → ${res.status}`);
   return data;
@@ -56,9 +73,10 @@ async function apiPut(path, body) {
 async function apiPatch(path, body = null) {
   const res = await fetch(BASE_URL + path, {
     method: 'PATCH',
-    headers: { 'Content-Type': 'application/json', ...getAuthHeader() },
+    headers: { 'Content-Type': 'application/json', ...getAuthHeader(), ...getWriteMarkerHeader() },
     body: body ? JSON.stringify(body) : null,
   });
+  rememberWriteMarker(res);
   const data = await res.json().catch(() => ({}));
   if (!res.ok) throw new Error(data.message || `PATCH ${path} → ${res.status}`);
   return data;
@@ -67,8 +85,9 @@ async function apiPatch(path, body = null) {
 async function apiDelete(path) {
   const res = await fetch(BASE_URL + path, {
     method: 'DELETE',
-    headers: { ...getAuthHeader() }
+    headers: { ...getAuthHeader(), ...getWriteMarkerHeader() }
   });
+  rememberWriteMarker(res);
   const data = await res.json().catch(() => ({}));
   if (!res.ok) throw new Error(data.message || `DELETE ${path} → ${res.status}`);
   return data;